@@ -18,15 +18,21 @@ package tech.uom.seshat;
 import java.util.List;
 import java.util.Objects;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.UnitConverter;
 import tech.uom.seshat.math.MathFunctions;
+import tech.uom.seshat.resources.Errors;
 
 
 /**
  * Base class of unit converters.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.1
+ * @version 1.4
  * @since   1.0
  */
 abstract class AbstractConverter implements UnitConverter, Serializable {
@@ -79,6 +85,323 @@ abstract class AbstractConverter implements UnitConverter, Serializable {
         return convert(value.doubleValue());
     }
 
+    /**
+     * Converts the given value, or returns NaN if the value cannot be converted.
+     * This method is invoked by bulk conversions, which report illegal values by NaN
+     * instead of exceptions in order to not abort a batch because of a single value.
+     *
+     * <p>The default implementation invokes {@link #convert(double)}.
+     * Subclasses should override if {@code convert(double)} may throw an exception.</p>
+     *
+     * @param  value  the value to convert.
+     * @return the converted value, or NaN if the given value cannot be converted.
+     */
+    double convertOrNaN(final double value) {
+        return convert(value);
+    }
+
+    /**
+     * Converts the given value with the given converter, which may be a foreigner implementation.
+     * If the converter is a Seshat implementation, illegal values are converted to NaN.
+     */
+    static double convertOrNaN(final UnitConverter converter, final double value) {
+        if (converter instanceof AbstractConverter) {
+            return ((AbstractConverter) converter).convertOrNaN(value);
+        }
+        return converter.convert(value);
+    }
+
+    /**
+     * Converts a sequence of values from the source array and stores the results in the destination array.
+     * The source and destination arrays may be the same array, in which case the conversion can be done
+     * in-place ({@code srcOff == dstOff}) or between overlapping regions of that array.
+     * Values that cannot be converted (for example sexagesimal values with a minutes field
+     * greater than 60) are replaced by NaN instead of causing an exception to be thrown.
+     *
+     * <p>The default implementation invokes {@link #convertOrNaN(double)} for each element.
+     * Subclasses should override with loops that the JIT compiler can optimize.</p>
+     *
+     * @param  src     the source array of values to convert.
+     * @param  srcOff  index of the first value to convert in the source array.
+     * @param  dst     the destination array where to store converted values.
+     * @param  dstOff  index where to store the first converted value in the destination array.
+     * @param  len     number of values to convert.
+     */
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = convertOrNaN(src[srcOff + i]);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = convertOrNaN(src[srcOff + i]);
+            }
+        }
+    }
+
+    /**
+     * Converts a sequence of single-precision values from the source array and stores the results in the
+     * destination array. Each value is widened to {@code double} with the standard Java cast, converted with
+     * {@code double} arithmetic, then rounded to {@code float} only once at the end. Consequently, the result
+     * is the {@code float} nearest to the result of {@link #convert(double)} applied on the exact source value.
+     *
+     * <p>This method does <strong>not</strong> use {@link MathFunctions#floatToDouble(float)}, contrarily to
+     * {@link #convert(Number)} when the argument is a {@link Float}. The two approaches usually produce the same
+     * result, but not always: when an offset cancels most of the value, the difference between the binary value
+     * and its decimal representation becomes significant. For example, converting 273.16 K to degrees Celsius
+     * gives 0.0100036… with this method but 0.01 with {@code convert(Float)}.</p>
+     *
+     * @param  src     the source array of values to convert.
+     * @param  srcOff  index of the first value to convert in the source array.
+     * @param  dst     the destination array where to store converted values.
+     * @param  dstOff  index where to store the first converted value in the destination array.
+     * @param  len     number of values to convert.
+     */
+    public void convert(final float[] src, final int srcOff, final float[] dst, final int dstOff, final int len) {
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = (float) convertOrNaN(src[srcOff + i]);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = (float) convertOrNaN(src[srcOff + i]);
+            }
+        }
+    }
+
+    /**
+     * Converts in-place the values between the position and the limit of the given buffer.
+     * The buffer position and limit are not modified. If the buffer is backed by an array,
+     * this method delegates to {@link #convert(double[], int, double[], int, int)}.
+     * Otherwise (for example for direct or memory-mapped buffers), values are read and
+     * written with absolute get and put operations, without copy in the Java heap.
+     *
+     * @param  values  the buffer of values to convert in-place.
+     */
+    public void convert(final DoubleBuffer values) {
+        if (values.hasArray()) {
+            final double[] array = values.array();
+            final int offset = values.arrayOffset() + values.position();
+            convert(array, offset, array, offset, values.remaining());
+        } else {
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, convertOrNaN(values.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Converts in-place the single-precision values between the position and the limit of the given buffer.
+     * The buffer position and limit are not modified. Each value is converted in {@code double} precision
+     * and rounded to {@code float} only once, as documented in {@link #convert(float[], int, float[], int, int)}.
+     *
+     * @param  values  the buffer of values to convert in-place.
+     */
+    public void convert(final FloatBuffer values) {
+        if (values.hasArray()) {
+            final float[] array = values.array();
+            final int offset = values.arrayOffset() + values.position();
+            convert(array, offset, array, offset, values.remaining());
+        } else {
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, (float) convertOrNaN(values.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Converts a sequence of values using the given converter, which may be a foreigner implementation.
+     * This is the implementation of public {@link Units#convert(UnitConverter, double[], int, double[], int, int)}.
+     */
+    static void convert(final UnitConverter converter, final double[] src, final int srcOff,
+                        final double[] dst, final int dstOff, final int len)
+    {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        if (converter instanceof AbstractConverter) {
+            ((AbstractConverter) converter).convert(src, srcOff, dst, dstOff, len);
+        } else {
+            Objects.requireNonNull(converter);
+            final boolean backward = isBackward(src, srcOff, dst, dstOff, len);
+            for (int k=0; k<len; k++) {
+                final int i = backward ? len - 1 - k : k;
+                dst[dstOff + i] = converter.convert(src[srcOff + i]);
+            }
+        }
+    }
+
+    /**
+     * Converts a sequence of single-precision values using the given converter, which may be a foreigner implementation.
+     * This is the implementation of public {@link Units#convert(UnitConverter, float[], int, float[], int, int)}.
+     */
+    static void convert(final UnitConverter converter, final float[] src, final int srcOff,
+                        final float[] dst, final int dstOff, final int len)
+    {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        if (converter instanceof AbstractConverter) {
+            ((AbstractConverter) converter).convert(src, srcOff, dst, dstOff, len);
+        } else {
+            Objects.requireNonNull(converter);
+            final boolean backward = isBackward(src, srcOff, dst, dstOff, len);
+            for (int k=0; k<len; k++) {
+                final int i = backward ? len - 1 - k : k;
+                dst[dstOff + i] = (float) converter.convert((double) src[srcOff + i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a converter applying the same conversion than this converter, but favoring speed over accuracy.
+     * The default implementation returns {@code this}. Subclasses should override if they can replace some
+     * costly operations, for example a division, by a faster approximation.
+     *
+     * @return a converter which may be faster but less accurate than this converter.
+     */
+    AbstractConverter fastMath() {
+        return this;
+    }
+
+    /**
+     * Returns a converter favoring speed over accuracy for the given converter, which may be a foreigner
+     * implementation. This is the implementation of public {@link Units#fastMath(UnitConverter)}.
+     */
+    static UnitConverter fastMath(final UnitConverter converter) {
+        if (converter instanceof AbstractConverter) {
+            return ((AbstractConverter) converter).fastMath();
+        }
+        return Objects.requireNonNull(converter);
+    }
+
+    /**
+     * Returns a function applying the same conversion than {@link #convert(double)}.
+     * Subclasses should override this method with a function that does not delegate
+     * to this converter, for example by capturing the conversion coefficients in a lambda.
+     * This allows the JIT compiler to inline a whole chain of conversions when the function
+     * is invoked in a loop, without virtual calls to the converters of each step.
+     *
+     * <p>The default implementation returns a reference to the {@link #convert(double)} method.</p>
+     *
+     * @return a function applying this conversion on {@code double} values.
+     */
+    DoubleUnaryOperator toOperator() {
+        return this::convert;
+    }
+
+    /**
+     * Returns a function applying the conversion of the given converter, which may be a foreigner implementation.
+     * This is the implementation of public {@link Units#toOperator(UnitConverter)}.
+     */
+    static DoubleUnaryOperator toOperator(final UnitConverter converter) {
+        if (converter instanceof AbstractConverter) {
+            return ((AbstractConverter) converter).toOperator();
+        }
+        return Objects.requireNonNull(converter)::convert;
+    }
+
+    /**
+     * Converts in-place the values of the given buffer using the given converter,
+     * which may be a foreigner implementation.
+     * This is the implementation of public {@link Units#convert(UnitConverter, DoubleBuffer)}.
+     */
+    static void convert(final UnitConverter converter, final DoubleBuffer values) {
+        if (converter instanceof AbstractConverter) {
+            ((AbstractConverter) converter).convert(values);
+        } else {
+            Objects.requireNonNull(converter);
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, converter.convert(values.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Converts in-place the single-precision values of the given buffer using the given converter,
+     * which may be a foreigner implementation.
+     * This is the implementation of public {@link Units#convert(UnitConverter, FloatBuffer)}.
+     */
+    static void convert(final UnitConverter converter, final FloatBuffer values) {
+        if (converter instanceof AbstractConverter) {
+            ((AbstractConverter) converter).convert(values);
+        } else {
+            Objects.requireNonNull(converter);
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, (float) converter.convert((double) values.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Converts in-place a sequence of values stored in a raw byte buffer at a regular interval.
+     * This is the implementation of public {@code Units.convertDoubles(…)} and {@code Units.convertFloats(…)}.
+     * The position, limit and byte order of the given buffer are not modified.
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  buffer     the buffer of values to convert in-place.
+     * @param  order      the byte order of the values in the buffer.
+     * @param  offset     index of the first byte of the first value to convert.
+     * @param  stride     number of bytes between the beginning of two consecutive values.
+     * @param  count      number of values to convert.
+     * @param  isFloat    {@code true} if the values are {@code float}, or {@code false} if they are {@code double}.
+     */
+    static void convert(final UnitConverter converter, ByteBuffer buffer, final ByteOrder order,
+                        final int offset, final int stride, final int count, final boolean isFloat)
+    {
+        Objects.requireNonNull(converter);
+        Objects.requireNonNull(order);
+        final int size = isFloat ? Float.BYTES : Double.BYTES;
+        if (stride < size) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentValue_2, "stride", stride));
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentValue_2, "count", count));
+        }
+        if (count == 0) {
+            return;
+        }
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException(Errors.format(Errors.Keys.IllegalArgumentValue_2, "offset", offset));
+        }
+        final long end = offset + (count - 1) * (long) stride + size;
+        if (end > buffer.limit()) {
+            throw new IndexOutOfBoundsException(Errors.format(Errors.Keys.RangeBeyondLimit_2, buffer.limit(), end));
+        }
+        buffer = buffer.duplicate().order(order);
+        if (stride == size) {
+            /*
+             * Values are contiguous. Use a view over the buffer in order to benefit from the
+             * specialized implementations of `convert(DoubleBuffer)` or `convert(FloatBuffer)`.
+             */
+            buffer.limit((int) end).position(offset);
+            if (isFloat) {
+                convert(converter, buffer.asFloatBuffer());
+            } else {
+                convert(converter, buffer.asDoubleBuffer());
+            }
+        } else if (isFloat) {
+            for (int i=0, p=offset; i<count; i++, p += stride) {
+                buffer.putFloat(p, (float) convertOrNaN(converter, buffer.getFloat(p)));
+            }
+        } else {
+            for (int i=0, p=offset; i<count; i++, p += stride) {
+                buffer.putDouble(p, convertOrNaN(converter, buffer.getDouble(p)));
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if a bulk conversion needs to iterate from the last element to the first one.
+     * This is the case when the source and destination regions overlap in the same array with the
+     * destination after the source, in which case a forward iteration would overwrite values not yet read.
+     */
+    static boolean isBackward(final Object src, final int srcOff, final Object dst, final int dstOff, final int len) {
+        return src == dst && srcOff < dstOff && dstOff < srcOff + len;
+    }
+
     /**
      * Returns the derivative of the conversion function at the given value, or {@code NaN} if unknown.
      *
@@ -136,15 +459,12 @@ abstract class AbstractConverter implements UnitConverter, Serializable {
      * Concatenates this converter with another converter. The resulting converter is equivalent to first converting
      * by the specified converter (right converter), and then converting by this converter (left converter).
      *
-     * <p>The default implementation is okay, but subclasses should override if they can detect optimizations.</p>
+     * <p>The default implementation removes identity steps, merges consecutive linear steps and cancels inverse steps.
+     * Subclasses should override if they can detect more optimizations.</p>
      */
     @Override
     public UnitConverter concatenate(final UnitConverter converter) {
-        Objects.requireNonNull(converter);
-        if (equals(converter.inverse())) {
-            return IdentityConverter.INSTANCE;
-        }
-        return new ConcatenatedConverter(converter, this);
+        return ConcatenatedConverter.create(converter, this);
     }
 
     /**
@@ -51,7 +51,7 @@ import tech.uom.seshat.resources.Errors;
  * All unit instances shall be immutable and thread-safe.
  *
  * @author  Martin Desruisseaux (MPO, Geomatys)
- * @version 1.2
+ * @version 1.4
  *
  * @param <Q>  the kind of quantity to be measured using this units.
  *
@@ -122,6 +122,23 @@ abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Serializa
      */
     final transient short epsg;
 
+    /**
+     * Results of arithmetic operations on this unit, created when first needed.
+     * This is not serialized because it can be recomputed.
+     *
+     * @see #operations()
+     */
+    private transient volatile OperationCache operations;
+
+    /**
+     * Symbols of this unit formatted by {@link UnitFormat} in each style, created when first needed.
+     * Array indices are {@link UnitFormat.Style} ordinal values. Elements are {@code null} for styles
+     * not yet formatted. This is not serialized because it can be recomputed.
+     *
+     * @see #formatted(UnitFormat.Style)
+     */
+    private transient volatile String[] formatted;
+
     /**
      * Creates a new unit having the given symbol and EPSG code.
      *
@@ -135,6 +152,50 @@ abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Serializa
         this.epsg   = epsg;
     }
 
+    /**
+     * Returns the cache of results of arithmetic operations on this unit.
+     * Used by {@code multiply(Unit)}, {@code divide(Unit)}, {@code pow(int)}, {@code root(int)}
+     * and {@code transform(UnitConverter)} for returning the same instance on repeated calls.
+     */
+    final OperationCache operations() {
+        OperationCache cache = operations;
+        if (cache == null) {
+            // No synchronization needed: in case of race condition, we just lose some cached values.
+            operations = cache = new OperationCache();
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the symbol of this unit previously formatted in the given style, or {@code null} if none.
+     * Labels are not included in this cache since they are specific to {@link UnitFormat} instances.
+     *
+     * @param  style  the style of the formatted symbol.
+     * @return the cached symbol, or {@code null} if none.
+     */
+    final String formatted(final UnitFormat.Style style) {
+        final String[] cache = formatted;
+        return (cache != null) ? cache[style.ordinal()] : null;
+    }
+
+    /**
+     * Caches the symbol of this unit formatted in the given style.
+     * No synchronization needed: in case of race condition, we just lose some cached values.
+     *
+     * @param  style   the style of the formatted symbol.
+     * @param  symbol  the formatted symbol.
+     */
+    final void formatted(final UnitFormat.Style style, final String symbol) {
+        String[] cache = formatted;
+        if (cache == null) {
+            cache = new String[UnitFormat.Style.values().length];
+        } else {
+            cache = cache.clone();
+        }
+        cache[style.ordinal()] = symbol;
+        formatted = cache;
+    }
+
     /**
      * Returns {@code true} if the use of SI prefixes is allowed for the given unit.
      */
@@ -334,6 +395,8 @@ abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Serializa
      *   return getDimension().equals(that.getDimension());
      *   }
      *
+     * For Seshat implementations, the comparison is a single comparison of dimension signatures.
+     *
      * @param  that the other unit to compare for compatibility.
      * @return {@code true} if the given unit is compatible with this unit.
      *
@@ -341,6 +404,9 @@ abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Serializa
      */
     @Override
     public final boolean isCompatible(final Unit<?> that) {
+        if (that instanceof AbstractUnit<?>) {
+            return getSystemUnit().dimension.sameAs(((AbstractUnit<?>) that).getSystemUnit().dimension);
+        }
         return getDimension().equals(that.getDimension());
     }
 
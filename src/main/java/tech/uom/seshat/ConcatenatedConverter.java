@@ -18,6 +18,9 @@ package tech.uom.seshat;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.UnitConverter;
 
 
@@ -25,7 +28,7 @@ import javax.measure.UnitConverter;
  * The concatenation of two unit converters where at least one of them is not linear.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 final class ConcatenatedConverter extends AbstractConverter {
@@ -34,6 +37,11 @@ final class ConcatenatedConverter extends AbstractConverter {
      */
     private static final long serialVersionUID = 6506147355157815065L;
 
+    /**
+     * Maximal number of values to process in one chunk during some bulk conversions.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
     /**
      * The first unit converter to apply.
      */
@@ -59,6 +67,75 @@ final class ConcatenatedConverter extends AbstractConverter {
         this.c2 = c2;
     }
 
+    /**
+     * Returns the concatenation of the given converters in a normalized form.
+     * Values will be converted according {@code first}, then {@code second}.
+     * The two converters are first decomposed in a flat sequence of steps, then:
+     *
+     * <ul>
+     *   <li>identity steps are dropped,</li>
+     *   <li>consecutive linear steps are merged in a single {@link LinearConverter},</li>
+     *   <li>pairs of a step followed by its inverse are cancelled, anywhere in the sequence.</li>
+     * </ul>
+     *
+     * The remaining steps are chained from left to right. Because no two consecutive steps are linear,
+     * the number of steps is at most 2<var>n</var>+1 where <var>n</var> is the number of non-linear steps,
+     * regardless of the order in which converters have been concatenated.
+     *
+     * @param  first   the first converter to apply.
+     * @param  second  the converter to apply after {@code first}.
+     * @return the normalized concatenation of the given converters.
+     */
+    static UnitConverter create(final UnitConverter first, final UnitConverter second) {
+        final List<UnitConverter> steps = new ArrayList<>();
+        flatten(first,  steps);
+        flatten(second, steps);
+        final UnitConverter[] stack = new UnitConverter[steps.size()];
+        int depth = 0;
+        for (UnitConverter step : steps) {
+            if (step.isIdentity()) {
+                continue;
+            }
+            if (depth != 0) {
+                final UnitConverter previous = stack[depth - 1];
+                if (previous.equals(step.inverse())) {
+                    depth--;
+                    continue;
+                }
+                if (step instanceof LinearConverter && (previous instanceof LinearConverter || previous.isLinear())) {
+                    step = step.concatenate(previous);
+                    depth--;
+                    if (step.isIdentity()) {
+                        continue;
+                    }
+                }
+            }
+            stack[depth++] = step;
+        }
+        if (depth == 0) {
+            return IdentityConverter.INSTANCE;
+        }
+        UnitConverter result = stack[0];
+        for (int i=1; i<depth; i++) {
+            result = new ConcatenatedConverter(result, stack[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the steps of the given converter in the given list, in the order they are applied.
+     * Only the concatenations created by this class are decomposed.
+     */
+    private static void flatten(final UnitConverter converter, final List<UnitConverter> steps) {
+        if (converter instanceof ConcatenatedConverter) {
+            final ConcatenatedConverter c = (ConcatenatedConverter) converter;
+            flatten(c.c1, steps);
+            flatten(c.c2, steps);
+        } else {
+            steps.add(Objects.requireNonNull(converter));
+        }
+    }
+
     /**
      * Returns {@code true} if the two unit converters are identity converters.
      * Should always be {@code false}, otherwise we would not have created a {@code ConcatenatedConverter}.
@@ -97,6 +174,128 @@ final class ConcatenatedConverter extends AbstractConverter {
         return c2.convert(c1.convert(value));
     }
 
+    /**
+     * Converts the given value, or returns NaN if one of the steps cannot convert it.
+     */
+    @Override
+    double convertOrNaN(final double value) {
+        return convertOrNaN(c2, convertOrNaN(c1, value));
+    }
+
+    /**
+     * Returns a converter applying the fast approximation of each step of this conversion.
+     */
+    @Override
+    AbstractConverter fastMath() {
+        final UnitConverter f1 = fastMath(c1);
+        final UnitConverter f2 = fastMath(c2);
+        return (f1 == c1 && f2 == c2) ? this : new ConcatenatedConverter(f1, f2);
+    }
+
+    /**
+     * Returns a function applying the two steps of this conversion in a single operator.
+     * If one of the steps is linear, its coefficients are captured as constants in the fused
+     * function instead of being applied by a call to another function.
+     */
+    @Override
+    DoubleUnaryOperator toOperator() {
+        if (c2 instanceof LinearConverter) {
+            return ((LinearConverter) c2).after(toOperator(c1));
+        }
+        final DoubleUnaryOperator f2 = toOperator(c2);
+        if (c1 instanceof LinearConverter) {
+            return ((LinearConverter) c1).before(f2);
+        }
+        final DoubleUnaryOperator f1 = toOperator(c1);
+        return (x) -> f2.applyAsDouble(f1.applyAsDouble(x));
+    }
+
+    /**
+     * Applies the conversion on a sequence of values. The first converter writes its results in the
+     * destination array, then the second converter is applied in-place on that destination array.
+     */
+    @Override
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        convert(c1, src, srcOff, dst, dstOff, len);
+        convert(c2, dst, dstOff, dst, dstOff, len);
+    }
+
+    /**
+     * Applies the conversion on a sequence of single-precision values. Values are copied in a temporary
+     * {@code double} buffer, one chunk at a time, so that the two converters are applied in double precision
+     * and the result is rounded to {@code float} only once.
+     */
+    @Override
+    public void convert(final float[] src, int srcOff, final float[] dst, int dstOff, int len) {
+        final boolean backward = isBackward(src, srcOff, dst, dstOff, len);
+        final double[] buffer = new double[Math.min(len, BUFFER_SIZE)];
+        if (backward) {
+            srcOff += len;
+            dstOff += len;
+        }
+        while (len > 0) {
+            final int n = Math.min(len, buffer.length);
+            if (backward) {
+                srcOff -= n;
+                dstOff -= n;
+            }
+            for (int i=0; i<n; i++) {
+                buffer[i] = src[srcOff + i];
+            }
+            convert(c1, buffer, 0, buffer, 0, n);
+            convert(c2, buffer, 0, buffer, 0, n);
+            for (int i=0; i<n; i++) {
+                dst[dstOff + i] = (float) buffer[i];
+            }
+            if (!backward) {
+                srcOff += n;
+                dstOff += n;
+            }
+            len -= n;
+        }
+    }
+
+    /**
+     * Applies the conversion in-place on the values between the position and the limit of the buffer.
+     * The two converters are applied on one chunk of the buffer at a time, so that the second converter
+     * reads values that are still in the processor cache. This is useful for large memory-mapped files.
+     */
+    @Override
+    public void convert(final DoubleBuffer values) {
+        final DoubleBuffer chunk = values.duplicate();
+        final int limit = values.limit();
+        for (int i = values.position(); i < limit;) {
+            final int n = Math.min(limit - i, BUFFER_SIZE);
+            chunk.limit(i + n).position(i);
+            convert(c1, chunk);
+            convert(c2, chunk);
+            i += n;
+        }
+    }
+
+    /**
+     * Applies the conversion in-place on the single-precision values of the buffer.
+     * Values are copied in a temporary {@code double} array, one chunk at a time,
+     * so that the result is rounded to {@code float} only once.
+     */
+    @Override
+    public void convert(final FloatBuffer values) {
+        final int limit = values.limit();
+        final double[] buffer = new double[Math.min(values.remaining(), BUFFER_SIZE)];
+        for (int i = values.position(); i < limit;) {
+            final int n = Math.min(limit - i, BUFFER_SIZE);
+            for (int j=0; j<n; j++) {
+                buffer[j] = values.get(i + j);
+            }
+            convert(c1, buffer, 0, buffer, 0, n);
+            convert(c2, buffer, 0, buffer, 0, n);
+            for (int j=0; j<n; j++) {
+                values.put(i + j, (float) buffer[j]);
+            }
+            i += n;
+        }
+    }
+
     /**
      * Applies the linear conversion on the given value.
      */
@@ -116,15 +315,11 @@ final class ConcatenatedConverter extends AbstractConverter {
     /**
      * Concatenates this converter with another converter. The resulting converter is equivalent to first converting
      * by the specified converter (right converter), and then converting by this converter (left converter).
+     * The result is normalized as documented in {@link #create(UnitConverter, UnitConverter)}.
      */
     @Override
     public UnitConverter concatenate(final UnitConverter converter) {
-        Objects.requireNonNull(converter);
-        if (equals(converter.inverse())) {
-            return IdentityConverter.INSTANCE;
-        }
-        // Delegate to c1 and c2 because they may provide more intelligent 'concatenate' implementations.
-        return c2.concatenate(c1.concatenate(converter));
+        return create(converter, this);
     }
 
     /**
@@ -33,7 +33,7 @@ import tech.uom.seshat.resources.Errors;
  * A unit of measure which is related to a base or derived unit through a conversion formula.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.3
+ * @version 1.4
  *
  * @param <Q>  the kind of quantity to be measured using this units.
  *
@@ -59,6 +59,14 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     @SuppressWarnings("serial")         // Not statically typed as Serializable.
     final UnitConverter toTarget;
 
+    /**
+     * Converters from this unit to other units, created when first needed.
+     * This is not serialized because it can be recomputed.
+     *
+     * @see #converters()
+     */
+    private transient volatile ConverterCache converters;
+
     /**
      * Creates a new unit having the given symbol and EPSG code.
      *
@@ -316,6 +324,11 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         Objects.requireNonNull(that);
         UnitConverter c = toTarget;
         if (target != that) {                           // Optimization for a common case.
+            final ConverterCache cache = converters();
+            final UnitConverter cached = cache.get(that);
+            if (cached != null) {
+                return cached;
+            }
             final Unit<Q> step = that.getSystemUnit();
             if (target != step && !target.isCompatible(step)) {
                 // Should never occur unless parameterized type has been compromised.
@@ -323,6 +336,7 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             }
             c = target.getConverterTo(step).concatenate(c);         // Usually leave 'c' unchanged.
             c =   step.getConverterTo(that).concatenate(c);
+            cache.put(that, c);
         }
         return c;
     }
@@ -346,16 +360,37 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         Objects.requireNonNull(that);
         UnitConverter c = toTarget;
         if (target != that) {                           // Optimization for a common case.
+            final ConverterCache cache = converters();
+            final UnitConverter cached = cache.get(that);
+            if (cached != null) {
+                return cached;
+            }
             final Unit<?> step = that.getSystemUnit();
             if (target != step && !target.isCompatible(step)) {
                 throw new IncommensurableException(incompatible(that));
             }
             c = target.getConverterToAny(step).concatenate(c);      // Usually leave 'c' unchanged.
             c =   step.getConverterToAny(that).concatenate(c);
+            cache.put(that, c);
         }
         return c;
     }
 
+    /**
+     * Returns the cache of converters from this unit to other units.
+     * The cache is shared by {@link #getConverterTo(Unit)} and {@link #getConverterToAny(Unit)}
+     * because the two methods compute the same converters, differing only in the exception thrown
+     * for incompatible units (in which case nothing is cached).
+     */
+    private ConverterCache converters() {
+        ConverterCache cache = converters;
+        if (cache == null) {
+            // No synchronization needed: in case of race condition, we just lose some cached values.
+            converters = cache = new ConverterCache();
+        }
+        return cache;
+    }
+
     /**
      * Returns a new unit identical to this unit except for the symbol, which is set to the given value.
      * This is used by {@link UnitFormat} mostly; we do not provide public API for setting a unit symbol
@@ -400,8 +435,12 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     @Override
     public Unit<?> multiply(final Unit<?> multiplier) {
         if (multiplier == this) return pow(2);                      // For formating e.g. "mi²".
+        Objects.requireNonNull(multiplier);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(MULTIPLY, multiplier, 0);
+        if (result != null) return result;
         ensureRatioScale();
-        return inferSymbol(target.multiply(multiplier).transform(toTarget), MULTIPLY, multiplier);
+        return cache.put(MULTIPLY, multiplier, 0, inferSymbol(target.multiply(multiplier).transform(toTarget), MULTIPLY, multiplier));
     }
 
     /**
@@ -412,8 +451,12 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     @Override
     public Unit<?> divide(final Unit<?> divisor) {
+        Objects.requireNonNull(divisor);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(DIVIDE, divisor, 0);
+        if (result != null) return result;
         ensureRatioScale();
-        return inferSymbol(target.divide(divisor).transform(toTarget), DIVIDE, divisor);
+        return cache.put(DIVIDE, divisor, 0, inferSymbol(target.divide(divisor).transform(toTarget), DIVIDE, divisor));
     }
 
     /**
@@ -424,8 +467,11 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     @Override
     public Unit<?> pow(final int n) {
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(OperationCache.POW, null, n);
+        if (result != null) return result;
         ensureRatioScale();
-        return inferSymbol(applyConversion(target.pow(n), n, false), 'ⁿ', null);
+        return cache.put(OperationCache.POW, null, n, inferSymbol(applyConversion(target.pow(n), n, false), 'ⁿ', null));
     }
 
     /**
@@ -437,8 +483,11 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     @Override
     public Unit<?> root(final int n) {
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(OperationCache.ROOT, null, n);
+        if (result != null) return result;
         ensureRatioScale();
-        return applyConversion(target.root(n), n, true);
+        return cache.put(OperationCache.ROOT, null, n, applyConversion(target.root(n), n, true));
     }
 
     /**
@@ -471,14 +520,21 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      * @return the unit after the specified transformation.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Unit<Q> transform(UnitConverter operation) {
         Objects.requireNonNull(operation);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(OperationCache.TRANSFORM, operation, 0);
+        if (result != null) {
+            return (Unit<Q>) result;
+        }
+        final UnitConverter key = operation;
         AbstractUnit<Q> base = this;
         if (!isPrefixable()) {
             base = target;
             operation = toTarget.concatenate(operation);
         }
-        return create(base, operation);
+        return cache.put(OperationCache.TRANSFORM, key, 0, create(base, operation));
     }
 
     /**
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+
+/**
+ * A small cache of converters from a source unit to target units, compared by identity.
+ * Each {@link ConventionalUnit} owns its cache, so the cache is garbage-collected together
+ * with the source unit. Target units are referenced weakly, so the cache does not prevent
+ * user-defined units from being garbage-collected either.
+ *
+ * <p>The cache has a fixed number of slots indexed by the identity hash code of the target unit.
+ * When two targets compete for the same slot, the most recent one wins. This policy keeps the
+ * cache bounded without the need for eviction logic. All operations are lock-free: entries are
+ * immutable and published with volatile semantic.</p>
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ * @since   1.4
+ */
+final class ConverterCache {
+    /**
+     * Number of slots in the cache. Must be a power of 2.
+     */
+    private static final int SIZE = 8;
+
+    /**
+     * A converter to a target unit. The target unit is the referent of this weak reference.
+     * Entries for which the referent has been garbage-collected are never matched,
+     * and are replaced when a new converter is stored in the same slot.
+     */
+    private static final class Entry extends WeakReference<Unit<?>> {
+        /**
+         * The converter from the source unit to the referent unit.
+         */
+        final UnitConverter converter;
+
+        /**
+         * Creates a new entry for the given target unit and converter.
+         */
+        Entry(final Unit<?> target, final UnitConverter converter) {
+            super(target);
+            this.converter = converter;
+        }
+    }
+
+    /**
+     * The cached converters, or {@code null} elements for empty slots.
+     */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /**
+     * Creates an initially empty cache.
+     */
+    ConverterCache() {
+        entries = new AtomicReferenceArray<>(SIZE);
+    }
+
+    /**
+     * Returns the slot where to search or store the converter to the given unit.
+     */
+    private static int slot(final Unit<?> target) {
+        return System.identityHashCode(target) & (SIZE - 1);
+    }
+
+    /**
+     * Returns the cached converter to the given target unit, or {@code null} if none.
+     *
+     * @param  target  the target unit, compared by identity.
+     * @return the cached converter, or {@code null} if none.
+     */
+    final UnitConverter get(final Unit<?> target) {
+        final Entry entry = entries.get(slot(target));
+        return (entry != null && entry.get() == target) ? entry.converter : null;
+    }
+
+    /**
+     * Caches the given converter to the given target unit, replacing any previous entry in the same slot.
+     *
+     * @param  target     the target unit.
+     * @param  converter  the converter from the source unit to the target unit.
+     * @return the given converter, for convenience.
+     */
+    final UnitConverter put(final Unit<?> target, final UnitConverter converter) {
+        entries.set(slot(target), new Entry(target, converter));
+        return converter;
+    }
+}
@@ -16,6 +16,9 @@
 package tech.uom.seshat;
 
 import java.util.Objects;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.UnitConverter;
 
 
@@ -56,6 +59,7 @@ final class IdentityConverter extends AbstractConverter {
     @Override public boolean       isIdentity()                 {return true;}
     @Override public UnitConverter inverse()                    {return this;}
     @Override public double        convert(double value)        {return value;}
+    @Override DoubleUnaryOperator  toOperator()                 {return DoubleUnaryOperator.identity();}
     @Override public double        derivative(double value)     {return 1;}
     @Override public UnitConverter concatenate(UnitConverter c) {return c;}
     @Override public String        toString()                   {return "y = x";}
@@ -69,6 +73,30 @@ final class IdentityConverter extends AbstractConverter {
         return Objects.requireNonNull(value);
     }
 
+    /**
+     * Copies the values unchanged, or does nothing if the conversion is in-place.
+     */
+    @Override
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        if (src != dst || srcOff != dstOff) {
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+        }
+    }
+
+    /**
+     * Copies the values unchanged, or does nothing if the conversion is in-place.
+     */
+    @Override
+    public void convert(final float[] src, final int srcOff, final float[] dst, final int dstOff, final int len) {
+        if (src != dst || srcOff != dstOff) {
+            System.arraycopy(src, srcOff, dst, dstOff, len);
+        }
+    }
+
+    /** Nothing to do for in-place conversion of buffers. */
+    @Override public void convert(DoubleBuffer values) {}
+    @Override public void convert(FloatBuffer  values) {}
+
     /**
      * Returns a hash code value for this unit converter.
      */
@@ -17,7 +17,10 @@ package tech.uom.seshat;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.UnitConverter;
 import tech.uom.seshat.math.Fraction;
 import tech.uom.seshat.math.MathFunctions;
@@ -30,7 +33,7 @@ import tech.uom.seshat.util.StringBuilders;
  * in the {@link #isLinear()} method inherited from JSR-385.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 final class LinearConverter extends AbstractConverter {
@@ -58,6 +61,13 @@ final class LinearConverter extends AbstractConverter {
      */
     private final double divisor;
 
+    /**
+     * If this converter multiplies values by an integer power of 10, that power. Otherwise 0.
+     * Computed at construction time for allowing {@link #concatenate(UnitConverter)} to combine
+     * SI prefixes by addition of exponents without recomputing the exponents.
+     */
+    private final int powerOf10;
+
     /**
      * The scale and offset factors represented in base 10, computed when first needed.
      * Those terms are pre-divided by the {@linkplain #divisor}.
@@ -74,9 +84,19 @@ final class LinearConverter extends AbstractConverter {
      * The complete formula applied is {@code y = (x*scale + offset) / divisor}.
      */
     LinearConverter(final double scale, final double offset, final double divisor) {
-        this.scale   = scale;
-        this.offset  = offset;
-        this.divisor = divisor;
+        this(scale, offset, divisor, powerOf10(scale, offset, divisor));
+    }
+
+    /**
+     * Creates a new linear converter for the given coefficients and the given power of 10.
+     * The {@code powerOf10} argument shall be the value that {@link #powerOf10(double, double, double)}
+     * would compute for the other arguments.
+     */
+    private LinearConverter(final double scale, final double offset, final double divisor, final int powerOf10) {
+        this.scale     = scale;
+        this.offset    = offset;
+        this.divisor   = divisor;
+        this.powerOf10 = powerOf10;
     }
 
     /**
@@ -127,6 +147,48 @@ final class LinearConverter extends AbstractConverter {
         return new LinearConverter(denominator, numerator, denominator);
     }
 
+    /**
+     * Returns a converter multiplying values by 10ⁿ. Positive powers are stored in the {@link #scale}
+     * and negative powers in the {@link #divisor}, so that values are divided by an integer instead of
+     * multiplied by a fraction which has no exact representation in base 2.
+     *
+     * <p>It is caller's responsibility to skip this method call when {@code n} = 0.</p>
+     *
+     * @param  n  the power of 10.
+     * @return a converter multiplying values by 10ⁿ.
+     */
+    static LinearConverter pow10(final int n) {
+        return (n >= 0) ? new LinearConverter(MathFunctions.pow10(n), 0, 1, n)
+                        : new LinearConverter(1, 0, MathFunctions.pow10(-n), n);
+    }
+
+    /**
+     * If a converter with the given coefficients multiplies values by an integer power of 10,
+     * returns that power. Otherwise returns 0. This is used for initializing {@link #powerOf10}.
+     *
+     * @return <var>n</var> if the converter multiplies values by 10ⁿ, or 0 otherwise.
+     */
+    private static int powerOf10(final double scale, final double offset, final double divisor) {
+        if (offset == 0) {
+            final double factor;
+            final int sign;
+            if (divisor == 1) {
+                factor = scale;
+                sign   = +1;
+            } else if (scale == 1) {
+                factor = divisor;
+                sign   = -1;
+            } else {
+                return 0;
+            }
+            final int n = (int) Math.round(Math.log10(factor));
+            if (n > 0 && MathFunctions.pow10(n) == factor) {
+                return n * sign;
+            }
+        }
+        return 0;
+    }
+
     /**
      * Raises the given converter to the given power. This method assumes that the given converter
      * {@linkplain #isLinear() is linear} (this is not verified) and takes only the scale factor;
@@ -144,6 +206,11 @@ final class LinearConverter extends AbstractConverter {
         double numerator, denominator;
         if (converter instanceof LinearConverter) {
             final LinearConverter lc = (LinearConverter) converter;
+            final int p = lc.powerOf10;
+            if (p != 0) {
+                if (!root) return pow10(p * n);
+                if (p % n == 0) return pow10(p / n);
+            }
             numerator   = lc.scale;
             denominator = lc.divisor;
         } else {
@@ -259,7 +326,156 @@ final class LinearConverter extends AbstractConverter {
      */
     @Override
     public double convert(final double value) {
-        return Math.fma(value, scale, offset) / divisor;
+        final double y = Math.fma(value, scale, offset);
+        return (divisor != 1) ? y / divisor : y;
+    }
+
+    /**
+     * Returns a converter with the scale and offset pre-divided by the divisor.
+     * The returned converter replaces the division by a multiplication, at the cost of accuracy.
+     * Its {@linkplain #inverse() inverse} is created together with it and also uses multiplications only,
+     * so that the fast mode is preserved in both directions. The fast mode is not preserved by other
+     * operations such as concatenations with other converters, or by serialization.
+     * This is the implementation of public {@link Units#fastMath(UnitConverter)} method.
+     */
+    @Override
+    AbstractConverter fastMath() {
+        final LinearConverter inverse = this.inverse;
+        if (divisor == 1 && (scale == 1 || (inverse != null && inverse.divisor == 1))) {
+            return this;
+        }
+        final LinearConverter fast = new LinearConverter(scale   / divisor,  offset / divisor, 1);
+        final LinearConverter back = new LinearConverter(divisor / scale,   -offset / scale,   1);
+        fast.inverse = back;
+        back.inverse = fast;
+        return fast;
+    }
+
+    /**
+     * Returns a function applying the linear conversion with coefficients captured as constants.
+     * The division is omitted when the divisor is 1, which does not change the results.
+     */
+    @Override
+    DoubleUnaryOperator toOperator() {
+        return after(null);
+    }
+
+    /**
+     * Returns a function applying this linear conversion after the given function.
+     * This is used for fusing a linear step in the operator of a {@link ConcatenatedConverter}.
+     *
+     * @param  before  the function to apply before this conversion, or {@code null} if none.
+     * @return a function applying {@code before} (if non-null) followed by this conversion.
+     */
+    final DoubleUnaryOperator after(final DoubleUnaryOperator before) {
+        final double scale   = this.scale;
+        final double offset  = this.offset;
+        final double divisor = this.divisor;
+        if (before == null) {
+            if (divisor == 1) return (x) -> Math.fma(x, scale, offset);
+            return (x) -> Math.fma(x, scale, offset) / divisor;
+        } else {
+            if (divisor == 1) return (x) -> Math.fma(before.applyAsDouble(x), scale, offset);
+            return (x) -> Math.fma(before.applyAsDouble(x), scale, offset) / divisor;
+        }
+    }
+
+    /**
+     * Returns a function applying this linear conversion before the given function.
+     * This is used for fusing a linear step in the operator of a {@link ConcatenatedConverter}.
+     *
+     * @param  after  the function to apply after this conversion.
+     * @return a function applying this conversion followed by {@code after}.
+     */
+    final DoubleUnaryOperator before(final DoubleUnaryOperator after) {
+        final double scale   = this.scale;
+        final double offset  = this.offset;
+        final double divisor = this.divisor;
+        if (divisor == 1) return (x) -> after.applyAsDouble(Math.fma(x, scale, offset));
+        return (x) -> after.applyAsDouble(Math.fma(x, scale, offset) / divisor);
+    }
+
+    /**
+     * Applies the linear conversion on a sequence of IEEE 754 floating-point values.
+     * The formula is the same than {@link #convert(double)}. The division is skipped
+     * when the divisor is 1, which does not change the results.
+     */
+    @Override
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        final double scale   = this.scale;
+        final double offset  = this.offset;
+        final double divisor = this.divisor;
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = Math.fma(src[srcOff + i], scale, offset) / divisor;
+            }
+        } else if (divisor == 1) {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = Math.fma(src[srcOff + i], scale, offset);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = Math.fma(src[srcOff + i], scale, offset) / divisor;
+            }
+        }
+    }
+
+    /**
+     * Applies the linear conversion on a sequence of single-precision values.
+     * The computation is done in {@code double} precision and rounded to {@code float} only once.
+     */
+    @Override
+    public void convert(final float[] src, final int srcOff, final float[] dst, final int dstOff, final int len) {
+        final double scale   = this.scale;
+        final double offset  = this.offset;
+        final double divisor = this.divisor;
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = (float) (Math.fma(src[srcOff + i], scale, offset) / divisor);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = (float) (Math.fma(src[srcOff + i], scale, offset) / divisor);
+            }
+        }
+    }
+
+    /**
+     * Applies the linear conversion in-place on the values between the position and the limit of the buffer.
+     * This method is specialized for buffers not backed by a Java array, such as direct or memory-mapped buffers.
+     */
+    @Override
+    public void convert(final DoubleBuffer values) {
+        if (values.hasArray()) {
+            super.convert(values);
+        } else {
+            final double scale   = this.scale;
+            final double offset  = this.offset;
+            final double divisor = this.divisor;
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, Math.fma(values.get(i), scale, offset) / divisor);
+            }
+        }
+    }
+
+    /**
+     * Applies the linear conversion in-place on the single-precision values of the buffer.
+     * The computation is done in {@code double} precision and rounded to {@code float} only once.
+     */
+    @Override
+    public void convert(final FloatBuffer values) {
+        if (values.hasArray()) {
+            super.convert(values);
+        } else {
+            final double scale   = this.scale;
+            final double offset  = this.offset;
+            final double divisor = this.divisor;
+            final int limit = values.limit();
+            for (int i = values.position(); i < limit; i++) {
+                values.put(i, (float) (Math.fma(values.get(i), scale, offset) / divisor));
+            }
+        }
     }
 
     /**
@@ -274,6 +490,10 @@ final class LinearConverter extends AbstractConverter {
                 value = new BigDecimal((BigInteger) value);
             }
             if (value instanceof BigDecimal) {
+                final int n = powerOf10;
+                if (n != 0) {
+                    return ((BigDecimal) value).scaleByPowerOfTen(n);
+                }
                 BigDecimal scale10  = this.scale10;
                 BigDecimal offset10 = this.offset10;
                 if (scale10 == null || offset10 == null) {
@@ -326,6 +546,14 @@ final class LinearConverter extends AbstractConverter {
         double otherScale, otherOffset, otherDivisor;
         if (converter instanceof LinearConverter) {
             final LinearConverter lc = (LinearConverter) converter;
+            final int p = lc.powerOf10;
+            if (p != 0) {
+                final int n = powerOf10;
+                if (n != 0) {
+                    // Add exponents instead of multiplying factors, which may be inexact for large powers.
+                    return (n + p != 0) ? pow10(n + p) : IdentityConverter.INSTANCE;
+                }
+            }
             otherScale   = lc.scale;
             otherOffset  = lc.offset;
             otherDivisor = lc.divisor;
@@ -339,7 +567,7 @@ final class LinearConverter extends AbstractConverter {
             otherScale   = converter.convert(1.0) - otherOffset;
             otherDivisor = 1;
         } else {
-            return new ConcatenatedConverter(converter, this);
+            return ConcatenatedConverter.create(converter, this);
         }
         otherScale   *= scale;
         otherOffset   = otherOffset * scale + otherDivisor * offset;
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+
+/**
+ * A small cache of the results of arithmetic operations on a unit, such as {@code unit.multiply(other)}.
+ * Each {@link AbstractUnit} owns its cache, so the cache is garbage-collected together with the unit
+ * on which operations are applied. Unit operands are referenced weakly, so the cache does not prevent
+ * user-defined units from being garbage-collected either. Converter operands are referenced strongly
+ * because they are small value objects usually created by the caller just for the operation,
+ * in which case a weak reference would be cleared at the next garbage collection.
+ *
+ * <p>A cached result is identified by an operation code, an operand and an integer argument.
+ * Operand units are compared by identity, while operand converters are compared by {@code equals(…)}
+ * because they are often recreated by callers. The cache has a fixed number of slots and the most recent
+ * result wins when two keys compete for the same slot, as in {@link ConverterCache}.
+ * All operations are lock-free.</p>
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ * @since   1.4
+ */
+final class OperationCache {
+    /**
+     * Number of slots in the cache. Must be a power of 2.
+     */
+    private static final int SIZE = 16;
+
+    /**
+     * Operation codes in addition to {@link AbstractUnit#MULTIPLY} and {@link AbstractUnit#DIVIDE}.
+     */
+    static final char POW = 'ⁿ', ROOT = '√', TRANSFORM = '→';
+
+    /**
+     * The result of an operation, together with the operation code and arguments.
+     */
+    private static final class Entry {
+        /**
+         * The operation code.
+         */
+        final char operation;
+
+        /**
+         * The integer argument of the operation, or 0 if none.
+         */
+        final int argument;
+
+        /**
+         * The converter given in argument to the operation, or a weak reference to the unit given in argument,
+         * or {@code null} for operations without operand such as {@link #POW} and {@link #ROOT}.
+         */
+        private final Object operand;
+
+        /**
+         * The result of applying the operation on the unit which owns the cache.
+         */
+        final Unit<?> result;
+
+        /**
+         * Creates a new entry for the given operation.
+         */
+        Entry(final char operation, final Object operand, final int argument, final Unit<?> result) {
+            this.operand   = (operand instanceof Unit<?>) ? new WeakReference<>(operand) : operand;
+            this.operation = operation;
+            this.argument  = argument;
+            this.result    = result;
+        }
+
+        /**
+         * Returns whether this entry is for the given operation, operand and argument.
+         */
+        final boolean matches(final char op, final Object operand, final int n) {
+            if (operation != op || argument != n) {
+                return false;
+            }
+            Object key = this.operand;
+            if (key instanceof WeakReference<?>) {
+                key = ((WeakReference<?>) key).get();
+            }
+            return (key == operand) || (operand instanceof UnitConverter && operand.equals(key));
+        }
+    }
+
+    /**
+     * The cached results, or {@code null} elements for empty slots.
+     */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /**
+     * Creates an initially empty cache.
+     */
+    OperationCache() {
+        entries = new AtomicReferenceArray<>(SIZE);
+    }
+
+    /**
+     * Returns the slot where to search or store the result of the given operation.
+     */
+    private static int slot(final char operation, final Object operand, final int argument) {
+        int code;
+        if (operand instanceof UnitConverter) {
+            code = operand.hashCode();
+        } else {
+            code = System.identityHashCode(operand);
+        }
+        code = (code * 31 + operation) * 31 + argument;
+        return (code ^ (code >>> 16)) & (SIZE - 1);
+    }
+
+    /**
+     * Returns the cached result of the given operation, or {@code null} if none.
+     *
+     * @param  operation  the operation code.
+     * @param  operand    the unit or converter given in argument to the operation, or {@code null} if none.
+     * @param  argument   the integer argument given to the operation, or 0 if none.
+     * @return the cached result, or {@code null} if none.
+     */
+    final Unit<?> get(final char operation, final Object operand, final int argument) {
+        final Entry entry = entries.get(slot(operation, operand, argument));
+        return (entry != null && entry.matches(operation, operand, argument)) ? entry.result : null;
+    }
+
+    /**
+     * Caches the result of the given operation, replacing any previous entry in the same slot.
+     *
+     * @param  operation  the operation code.
+     * @param  operand    the unit or converter given in argument to the operation, or {@code null} if none.
+     * @param  argument   the integer argument given to the operation, or 0 if none.
+     * @param  result     the result of the operation.
+     * @return the given result, for convenience.
+     */
+    final <U extends Unit<?>> U put(final char operation, final Object operand, final int argument, final U result) {
+        entries.set(slot(operation, operand, argument), new Entry(operation, operand, argument, result));
+        return result;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat;
+
+import java.util.Locale;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.measure.Unit;
+
+
+/**
+ * A bounded cache of units parsed by {@link UnitFormat}, indexed by the parsed strings.
+ * The cache content depends on the locale (for parsing unit names) and on the labels.
+ * Consequently, formats without labels share a cache per locale, while formats with
+ * labels use a cache of their own which is discarded when the labels or locale change.
+ *
+ * <p>The cache has a fixed number of slots and the most recent result wins when two strings
+ * compete for the same slot, as in {@link ConverterCache}. Lookups can be done with a range
+ * of characters or UTF-8 bytes without creating a {@link String}, so that parsing a string
+ * seen before allocates nothing. All operations are lock-free.</p>
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ * @since   1.4
+ */
+final class ParseCache {
+    /**
+     * Number of slots in a cache. Must be a power of 2.
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * The caches shared by all {@link UnitFormat} instances without labels, indexed by locale.
+     */
+    private static final ConcurrentHashMap<Locale,ParseCache> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * A parsed string together with the unit parsed from that string.
+     */
+    private static final class Entry {
+        /** The parsed string. */
+        final String symbols;
+
+        /** The unit parsed from {@link #symbols}. */
+        final Unit<?> unit;
+
+        /** Creates a new entry for the given parsing result. */
+        Entry(final String symbols, final Unit<?> unit) {
+            this.symbols = symbols;
+            this.unit    = unit;
+        }
+    }
+
+    /**
+     * The parsed units, or {@code null} elements for empty slots.
+     */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /**
+     * Number of successful and unsuccessful lookups.
+     */
+    private final LongAdder hits, misses;
+
+    /**
+     * Creates a new, initially empty, cache.
+     */
+    ParseCache() {
+        entries = new AtomicReferenceArray<>(SIZE);
+        hits    = new LongAdder();
+        misses  = new LongAdder();
+    }
+
+    /**
+     * Returns the cache shared by all formats without labels for the given locale.
+     *
+     * @param  locale  the locale of the format which will use the cache.
+     * @return the shared cache for the given locale.
+     */
+    static ParseCache shared(final Locale locale) {
+        ParseCache cache = SHARED.get(locale);
+        if (cache == null) {
+            cache = new ParseCache();
+            final ParseCache existing = SHARED.putIfAbsent(locale, cache);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the slot for the given hash code, which shall be computed as {@link String#hashCode()}.
+     */
+    private static int slot(final int hash) {
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    /**
+     * Returns the unit of the given entry, and updates the hit or miss count.
+     */
+    private Unit<?> result(final Entry entry) {
+        if (entry != null) {
+            hits.increment();
+            return entry.unit;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the unit previously parsed from the given string, or {@code null} if none.
+     *
+     * @param  symbols  the string to parse.
+     * @return the cached unit, or {@code null} if none.
+     */
+    final Unit<?> get(final String symbols) {
+        Entry entry = entries.get(slot(symbols.hashCode()));
+        if (entry != null && !symbols.equals(entry.symbols)) {
+            entry = null;
+        }
+        return result(entry);
+    }
+
+    /**
+     * Returns the unit previously parsed from the given range of characters, or {@code null} if none.
+     *
+     * @param  symbols  the characters to parse.
+     * @param  offset   index of the first character to parse.
+     * @param  length   number of characters to parse.
+     * @return the cached unit, or {@code null} if none.
+     */
+    final Unit<?> get(final char[] symbols, final int offset, final int length) {
+        int hash = 0;
+        for (int i=0; i<length; i++) {
+            hash = 31*hash + symbols[offset + i];
+        }
+        Entry entry = entries.get(slot(hash));
+        if (entry != null) {
+            final String key = entry.symbols;
+            if (key.length() == length) {
+                for (int i=0; i<length; i++) {
+                    if (key.charAt(i) != symbols[offset + i]) {
+                        entry = null;
+                        break;
+                    }
+                }
+            } else {
+                entry = null;
+            }
+        }
+        return result(entry);
+    }
+
+    /**
+     * Decodes the UTF-8 character starting at the given index. The character is returned in the
+     * 16 lowest bits and the number of bytes used for encoding that character in the next bits.
+     * If the bytes are malformed or encode a character outside the Basic Multilingual Plane,
+     * then this method returns -1.
+     */
+    private static int decode(final ByteBuffer symbols, final int i, final int end) {
+        final int c = symbols.get(i);
+        if (c >= 0) {
+            return (1 << 16) | c;
+        }
+        if ((c & 0xE0) == 0xC0) {
+            if (i + 1 < end) {
+                final int c1 = symbols.get(i + 1);
+                if ((c1 & 0xC0) == 0x80) {
+                    final int ch = ((c & 0x1F) << 6) | (c1 & 0x3F);
+                    if (ch >= 0x80) return (2 << 16) | ch;
+                }
+            }
+        } else if ((c & 0xF0) == 0xE0) {
+            if (i + 2 < end) {
+                final int c1 = symbols.get(i + 1);
+                final int c2 = symbols.get(i + 2);
+                if ((c1 & 0xC0) == 0x80 && (c2 & 0xC0) == 0x80) {
+                    final int ch = ((c & 0x0F) << 12) | ((c1 & 0x3F) << 6) | (c2 & 0x3F);
+                    if (ch >= 0x800 && !Character.isSurrogate((char) ch)) return (3 << 16) | ch;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the unit previously parsed from the given range of UTF-8 bytes, or {@code null} if none.
+     * Characters are decoded on the fly without allocation. In the rare cases where the bytes are
+     * malformed or encode a character outside the Basic Multilingual Plane, this method decodes
+     * the bytes in a temporary string. The buffer position is not modified.
+     *
+     * @param  symbols  the bytes to parse.
+     * @param  start    index of the first byte to parse.
+     * @param  end      index after the last byte to parse.
+     * @return the cached unit, or {@code null} if none.
+     */
+    final Unit<?> get(final ByteBuffer symbols, final int start, final int end) {
+        int hash = 0, length = 0;
+        for (int i=start; i<end; length++) {
+            final int c = decode(symbols, i, end);
+            if (c < 0) {
+                return get(StandardCharsets.UTF_8.decode(symbols.duplicate().limit(end).position(start)).toString());
+            }
+            hash = 31*hash + (char) c;
+            i += c >>> 16;
+        }
+        Entry entry = entries.get(slot(hash));
+        if (entry != null) {
+            final String key = entry.symbols;
+            if (key.length() == length) {
+                for (int i=start, k=0; i<end; k++) {
+                    final int c = decode(symbols, i, end);
+                    if (key.charAt(k) != (char) c) {
+                        entry = null;
+                        break;
+                    }
+                    i += c >>> 16;
+                }
+            } else {
+                entry = null;
+            }
+        }
+        return result(entry);
+    }
+
+    /**
+     * Caches the unit parsed from the given string, replacing any previous entry in the same slot.
+     *
+     * @param  symbols  the parsed string.
+     * @param  unit     the unit parsed from the given string.
+     */
+    final void put(final String symbols, final Unit<?> unit) {
+        entries.set(slot(symbols.hashCode()), new Entry(symbols, unit));
+    }
+
+    /**
+     * Returns the number of lookups which found a cached unit.
+     */
+    final long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find a cached unit.
+     */
+    final long missCount() {
+        return misses.sum();
+    }
+}
@@ -16,6 +16,7 @@
 package tech.uom.seshat;
 
 import java.io.ObjectStreamException;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.UnitConverter;
 import tech.uom.seshat.math.MathFunctions;
 
@@ -24,7 +25,7 @@ import tech.uom.seshat.math.MathFunctions;
  * Conversions from units represented by a logarithm in base 10.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 final class PowerOf10 extends AbstractConverter {
@@ -117,6 +118,30 @@ final class PowerOf10 extends AbstractConverter {
         return pow10(value);
     }
 
+    /**
+     * Returns a function applying the unit conversion without reference to this converter.
+     */
+    @Override
+    DoubleUnaryOperator toOperator() {
+        return PowerOf10::pow10;
+    }
+
+    /**
+     * Applies the unit conversion on a sequence of values.
+     */
+    @Override
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = pow10(src[srcOff + i]);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = pow10(src[srcOff + i]);
+            }
+        }
+    }
+
     /**
      * Returns the derivative of this conversion at the given value.
      */
@@ -192,6 +217,30 @@ final class PowerOf10 extends AbstractConverter {
             return Math.log10(value);
         }
 
+        /**
+         * Returns a function applying the unit conversion without reference to this converter.
+         */
+        @Override
+        DoubleUnaryOperator toOperator() {
+            return Math::log10;
+        }
+
+        /**
+         * Applies the unit conversion on a sequence of values.
+         */
+        @Override
+        public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+            if (isBackward(src, srcOff, dst, dstOff, len)) {
+                for (int i=len; --i >= 0;) {
+                    dst[dstOff + i] = Math.log10(src[srcOff + i]);
+                }
+            } else {
+                for (int i=0; i<len; i++) {
+                    dst[dstOff + i] = Math.log10(src[srcOff + i]);
+                }
+            }
+        }
+
         /**
          * Returns the derivative of this conversion at the given value.
          */
@@ -28,7 +28,7 @@ import tech.uom.seshat.math.MathFunctions;
  * but this may be improved in future version.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 final class Prefixes {
@@ -89,16 +89,7 @@ final class Prefixes {
         synchronized (CONVERTERS) {
             LinearConverter c = CONVERTERS[i];
             if (c == null) {
-                final int p = POWERS[i];
-                final double numerator, denominator;
-                if (p >= 0) {
-                    numerator = MathFunctions.pow10(p);
-                    denominator = 1;
-                } else {
-                    numerator = 1;
-                    denominator = MathFunctions.pow10(-p);
-                }
-                c = LinearConverter.scale(numerator, denominator);
+                c = LinearConverter.pow10(POWERS[i]);
                 CONVERTERS[i] = c;
             }
             return c;
@@ -175,8 +166,13 @@ final class Prefixes {
                         if (power != 1) {
                             c = LinearConverter.pow(c, power, false);
                         }
-                        symbol = Prefixes.concat(prefix, symbol);
-                        return new ConventionalUnit<>((AbstractUnit<?>) unit, c, symbol.intern(), (byte) 0, (short) 0);
+                        /*
+                         * Share the unit with next invocations of this method, so that parsing the same
+                         * prefixed symbol many times gives the same instance. This allows the identity
+                         * checks and the converter caches to work.
+                         */
+                        symbol = Prefixes.concat(prefix, symbol).intern();
+                        return new ConventionalUnit<>((AbstractUnit<?>) unit, c, symbol, (byte) 0, (short) 0).unique(symbol);
                     }
                 }
             }
@@ -0,0 +1,327 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+import java.nio.CharBuffer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.io.IOException;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.IncommensurableException;
+import javax.measure.format.MeasurementParseException;
+import tech.uom.seshat.resources.Errors;
+
+
+/**
+ * Parses a column of quantities, one per line, into an array of {@code double} values.
+ * This is the implementation of {@link QuantityFormat#parseColumn(Readable, Unit, ObjIntConsumer)}.
+ * Each line contains a number followed by a unit symbol, for example “12.5 km”.
+ * Values are converted to a target unit and no {@link javax.measure.Quantity} is created.
+ *
+ * <p>The number is parsed without allocation when it is a plain decimal number using the symbols of
+ * the {@link DecimalFormat}, with few enough digits for being converted exactly. Otherwise parsing
+ * falls back on the {@link NumberFormat}. Units are resolved once per distinct unit symbol through
+ * a {@link ParseCache}, and the converter to the target unit is computed once per distinct unit.</p>
+ *
+ * <p>Instances of this class are used for a single column and are not thread-safe.</p>
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ * @since   1.4
+ */
+final class QuantityColumnParser {
+    /**
+     * Powers of 10 which can be represented exactly by a {@code double}.
+     */
+    private static final double[] POWERS_OF_10 = {
+        1E+00, 1E+01, 1E+02, 1E+03, 1E+04, 1E+05, 1E+06, 1E+07, 1E+08, 1E+09, 1E+10,
+        1E+11, 1E+12, 1E+13, 1E+14, 1E+15, 1E+16, 1E+17, 1E+18, 1E+19, 1E+20, 1E+21, 1E+22
+    };
+
+    /**
+     * Largest integer value which can be stored in a {@code double} without loss of precision.
+     */
+    private static final long MAX_EXACT = 1L << 53;
+
+    /**
+     * Initial number of characters in the buffer. The buffer grows if a line is longer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The format for parsing numbers when the fast path cannot be used.
+     */
+    private final NumberFormat numberFormat;
+
+    /**
+     * The format for parsing unit symbols.
+     */
+    private final UnitFormat unitFormat;
+
+    /**
+     * The units parsed by this parser, indexed by their symbols.
+     */
+    private final ParseCache units;
+
+    /**
+     * The unit of the values stored in the column.
+     */
+    private final Unit<?> target;
+
+    /**
+     * The function to invoke for each line that cannot be parsed, with the line number.
+     */
+    private final ObjIntConsumer<MeasurementParseException> onError;
+
+    /**
+     * The decimal separator, minus sign and grouping separator used by the fast path,
+     * or 0 for all of them if the fast path cannot be used.
+     */
+    private final char decimalSeparator, minusSign, groupingSeparator;
+
+    /**
+     * The unit of the previous line, or {@code null} if none.
+     */
+    private Unit<?> lastUnit;
+
+    /**
+     * The converter from {@link #lastUnit} to {@link #target}.
+     */
+    private UnitConverter lastConverter;
+
+    /**
+     * The parsed values. Only the {@link #count} first values are valid.
+     */
+    private double[] values;
+
+    /**
+     * Number of valid values in the {@link #values} array.
+     */
+    private int count;
+
+    /**
+     * Number of the line being parsed in the source, starting at 1.
+     * This is the number given to the {@link #onError} function.
+     */
+    private int line;
+
+    /**
+     * The value parsed by the last successful call to {@link #parseNumber(char[], int, int)}.
+     */
+    private double fastValue;
+
+    /**
+     * Creates a new parser for a column.
+     *
+     * @param  numberFormat  the format for parsing numbers.
+     * @param  unitFormat    the format for parsing unit symbols.
+     * @param  target        the unit of the values stored in the column.
+     * @param  onError       the function to invoke for each line that cannot be parsed.
+     */
+    QuantityColumnParser(final NumberFormat numberFormat, final UnitFormat unitFormat,
+            final Unit<?> target, final ObjIntConsumer<MeasurementParseException> onError)
+    {
+        this.numberFormat = numberFormat;
+        this.unitFormat   = unitFormat;
+        this.target       = target;
+        this.onError      = onError;
+        ParseCache cache  = unitFormat.parseCache();
+        units = (cache != null) ? cache : new ParseCache();
+        char decimal = 0, minus = 0, grouping = 0;
+        if (numberFormat instanceof DecimalFormat) {
+            final DecimalFormat df = (DecimalFormat) numberFormat;
+            final DecimalFormatSymbols symbols = df.getDecimalFormatSymbols();
+            if (!df.isParseIntegerOnly() && df.getMultiplier() == 1 && symbols.getZeroDigit() == '0'
+                    && df.getPositivePrefix().isEmpty() && df.getPositiveSuffix().isEmpty()
+                    && df.getNegativeSuffix().isEmpty()
+                    && df.getNegativePrefix().equals(String.valueOf(symbols.getMinusSign())))
+            {
+                decimal  = symbols.getDecimalSeparator();
+                minus    = symbols.getMinusSign();
+                grouping = symbols.getGroupingSeparator();
+            }
+        }
+        decimalSeparator  = decimal;
+        minusSign         = minus;
+        groupingSeparator = grouping;
+        values = new double[1024];
+    }
+
+    /**
+     * Parses all lines read from the given source. Blank lines are ignored.
+     *
+     * @param  source  the source of the lines to parse.
+     * @return the parsed values, with {@code NaN} for lines that cannot be parsed.
+     * @throws IOException if an error occurred while reading from the source.
+     */
+    final double[] parse(final Readable source) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int length = 0;                         // Number of valid characters in the buffer.
+        int scan   = 0;                         // Index of the first character not yet examined.
+        char previous = 0;                      // The character before the one at `scan`.
+        line = 1;
+        for (;;) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            final int n = source.read(CharBuffer.wrap(buffer, length, buffer.length - length));
+            if (n < 0) break;
+            length += n;
+            int start = 0;
+            for (; scan < length; scan++) {
+                final char c = buffer[scan];
+                if (c == '\n' || c == '\r') {
+                    row(buffer, start, scan);
+                    start = scan + 1;
+                    if (c == '\r' || previous != '\r') {
+                        line++;                 // Do not count "\r\n" as two lines.
+                    }
+                }
+                previous = c;
+            }
+            System.arraycopy(buffer, start, buffer, 0, length -= start);
+            scan = length;
+        }
+        row(buffer, 0, length);
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Returns whether the given character should be skipped as a space. This method accepts
+     * no-break spaces because {@link QuantityFormat#SEPARATOR} is such a space.
+     */
+    private static boolean isSpace(final char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    /**
+     * Parses the line in the given range of characters and appends its value to the column.
+     */
+    private void row(final char[] buffer, int start, int end) {
+        while (start < end && isSpace(buffer[start])) start++;
+        while (end > start && isSpace(buffer[end - 1])) end--;
+        if (start == end) {
+            return;
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        double value = Double.NaN;
+        try {
+            value = parseRow(buffer, start, end);
+        } catch (MeasurementParseException e) {
+            onError.accept(e, line);
+        }
+        values[count++] = value;
+    }
+
+    /**
+     * Parses the line in the given range of characters, which shall not be blank.
+     */
+    private double parseRow(final char[] buffer, final int start, final int end) throws MeasurementParseException {
+        double value;
+        int i = parseNumber(buffer, start, end);
+        if (i >= 0) {
+            value = fastValue;
+        } else {
+            final String text = new String(buffer, start, end - start);
+            final ParsePosition pos = new ParsePosition(0);
+            final Number n = numberFormat.parse(text, pos);
+            if (n == null) {
+                throw new MeasurementParseException(Errors.format(Errors.Keys.CanNotParse_1, text), text, pos.getErrorIndex());
+            }
+            value = n.doubleValue();
+            i = start + pos.getIndex();
+        }
+        while (i < end && isSpace(buffer[i])) i++;
+        final int length = end - i;
+        Unit<?> unit = units.get(buffer, i, length);
+        if (unit == null) {
+            final String symbols = new String(buffer, i, length);
+            if (symbols.isEmpty()) {
+                final String text = new String(buffer, start, end - start);
+                throw new MeasurementParseException(Errors.format(Errors.Keys.CanNotParse_1, text), text, end - start);
+            }
+            unit = unitFormat.parse(symbols);
+            units.put(symbols, unit);
+        }
+        if (unit != lastUnit) {
+            try {
+                lastConverter = unit.getConverterToAny(target);
+            } catch (IncommensurableException e) {
+                throw (MeasurementParseException) new MeasurementParseException(
+                        Errors.format(Errors.Keys.IncompatibleUnits_2, unit, target),
+                        new String(buffer, start, end - start), i - start).initCause(e);
+            }
+            lastUnit = unit;
+        }
+        return lastConverter.convert(value);
+    }
+
+    /**
+     * Parses a number in the given range of characters without allocation, if possible.
+     * The number shall be a plain decimal number with at most 18 significant digits and
+     * at most 22 fraction digits, so that the result can be computed with a single exact
+     * division. This is the fast path documented by Clinger (1990).
+     *
+     * @return index after the parsed number (the value is stored in {@link #fastValue}),
+     *         or -1 if the number should be parsed by {@link #numberFormat} instead.
+     */
+    private int parseNumber(final char[] buffer, int i, final int end) {
+        if (decimalSeparator == 0) {
+            return -1;
+        }
+        final boolean negative = (buffer[i] == minusSign);
+        if (negative) i++;
+        long mantissa = 0;
+        int digits = 0, scale = 0;
+        boolean fraction = false, any = false;
+        for (; i < end; i++) {
+            final char c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > 18) return -1;
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (fraction) scale++;
+            } else if (c == decimalSeparator && !fraction) {
+                fraction = true;
+            } else {
+                if (c == groupingSeparator && i + 1 < end) {
+                    final char n = buffer[i + 1];
+                    if (n >= '0' && n <= '9') return -1;
+                }
+                if ((c == 'E' || c == 'e') && i + 1 < end) {
+                    final char n = buffer[i + 1];
+                    if ((n >= '0' && n <= '9') || n == '-' || n == '+') return -1;
+                }
+                break;
+            }
+        }
+        if (!any || mantissa > MAX_EXACT || scale >= POWERS_OF_10.length) {
+            return -1;
+        }
+        final double value = mantissa / POWERS_OF_10[scale];
+        fastValue = negative ? -value : value;
+        return i;
+    }
+}
@@ -17,6 +17,8 @@ package tech.uom.seshat;
 
 import java.util.Objects;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
 import java.text.Format;
 import java.text.FieldPosition;
 import java.text.NumberFormat;
@@ -32,8 +34,13 @@ import tech.uom.seshat.resources.Errors;
 /**
  * Parses and formats numbers with units of measurement.
  *
+ * <h2>Multi-threading</h2>
+ * {@code QuantityFormat} is generally not thread-safe because {@link NumberFormat} is not.
+ * An exception to this rule is the unmodifiable instances returned by {@link #getInstance(Locale, UnitFormat.Style)},
+ * which can be shared by all threads.
+ *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  *
  * @see NumberFormat
  * @see UnitFormat
@@ -62,6 +69,12 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
      */
     protected final UnitFormat unitFormat;
 
+    /**
+     * The unmodifiable instances returned by {@link #getInstance(Locale, UnitFormat.Style)},
+     * indexed by locale and by {@linkplain UnitFormat.Style#ordinal() style ordinal}.
+     */
+    private static final ConcurrentHashMap<Locale, QuantityFormat[]> POOL = new ConcurrentHashMap<>();
+
     /**
      * Creates a new instance for the given locale.
      *
@@ -86,6 +99,95 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
         this.unitFormat   = unitFormat;
     }
 
+    /**
+     * Returns a shared format for the given locale and unit style. The returned format is unmodifiable
+     * and can be used concurrently by all threads without synchronization. Its unit format is the shared
+     * instance returned by {@link UnitFormat#getInstance(Locale, UnitFormat.Style)}, and each thread uses
+     * its own copy of the number format. A modifiable copy can be obtained by {@link #clone()}.
+     *
+     * @param  locale  the locale for the quantity format.
+     * @param  style   the style of units formatted by the returned format.
+     * @return a shared unmodifiable format for the given locale and style.
+     *
+     * @see UnitServices#getQuantityFormat(String)
+     * @since 1.4
+     */
+    public static QuantityFormat getInstance(final Locale locale, final UnitFormat.Style style) {
+        Objects.requireNonNull(locale);
+        QuantityFormat[] formats = POOL.get(locale);
+        if (formats == null) {
+            final UnitFormat.Style[] styles = UnitFormat.Style.values();
+            formats = new QuantityFormat[styles.length];
+            for (final UnitFormat.Style s : styles) {
+                formats[s.ordinal()] = new Unmodifiable(locale, s);
+            }
+            final QuantityFormat[] existing = POOL.putIfAbsent(locale, formats);
+            if (existing != null) {
+                formats = existing;
+            }
+        }
+        return formats[style.ordinal()];
+    }
+
+    /**
+     * A format which is safe for sharing between threads. {@code QuantityFormat} has no setter method,
+     * so the only source of thread-unsafety is the {@link NumberFormat}, which is copied for each thread.
+     *
+     * @see #getInstance(Locale, UnitFormat.Style)
+     */
+    private static final class Unmodifiable extends QuantityFormat {
+        /**
+         * For cross-version compatibility.
+         */
+        private static final long serialVersionUID = -4180327612408713208L;
+
+        /**
+         * The copies of {@link #numberFormat} used by each thread.
+         */
+        private final transient ThreadLocal<NumberFormat> perThread;
+
+        /**
+         * Creates a new unmodifiable format for the given locale and style.
+         */
+        Unmodifiable(final Locale locale, final UnitFormat.Style style) {
+            super(NumberFormat.getNumberInstance(locale), UnitFormat.getInstance(locale, style));
+            perThread = ThreadLocal.withInitial(() -> (NumberFormat) numberFormat.clone());
+        }
+
+        /**
+         * Returns the number format to use in the current thread.
+         */
+        @Override
+        NumberFormat numberFormat() {
+            return perThread.get();
+        }
+
+        /**
+         * Returns a modifiable copy of this format.
+         */
+        @Override
+        public QuantityFormat clone() {
+            return new QuantityFormat((NumberFormat) numberFormat.clone(), unitFormat.clone());
+        }
+
+        /**
+         * Returns the shared instance after deserialization.
+         *
+         * @return the shared instance for the locale and style of this format.
+         */
+        private Object readResolve() {
+            return getInstance(unitFormat.getLocale(), unitFormat.getStyle());
+        }
+    }
+
+    /**
+     * Returns the format to use for parsing and formatting the number part.
+     * This is {@link #numberFormat}, except for shared instances which use a copy per thread.
+     */
+    NumberFormat numberFormat() {
+        return numberFormat;
+    }
+
     /**
      * Returns whether this format depends on a {@code Locale} to perform its tasks.
      * This is {@code true} in this {@code QuantityFormat} implementation.
@@ -140,7 +242,7 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
     public StringBuffer format(final Object quantity, StringBuffer toAppendTo, FieldPosition pos) {
         final Quantity<?> q = (Quantity<?>) quantity;
         if (pos == null) pos = new FieldPosition(0);
-        toAppendTo = numberFormat.format(q.getValue(), toAppendTo, pos).append(SEPARATOR);   // Narrow no-break space.
+        toAppendTo = numberFormat().format(q.getValue(), toAppendTo, pos).append(SEPARATOR);   // Narrow no-break space.
         toAppendTo = unitFormat.format(q.getUnit(), toAppendTo, pos);
         return toAppendTo;
     }
@@ -180,7 +282,7 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
             pos.setIndex(0);
         }
         try {
-            final Number value = numberFormat.parse(text, pos);
+            final Number value = numberFormat().parse(text, pos);
             if (value != null) {
                 final Unit<?> unit = unitFormat.parse(text, pos);
                 if (unit != null) {
@@ -199,6 +301,36 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
         throw new MeasurementParseException(Errors.format(Errors.Keys.CanNotParse_1, source), source, pos.getErrorIndex());
     }
 
+    /**
+     * Parses a column of quantities, one per line, and returns their values converted to the given unit.
+     * Each line shall contain a number followed by a unit symbol, for example “12.5 km” or “300 hPa”.
+     * Blank lines are ignored. The source can be a {@link java.io.Reader} or a {@link java.nio.CharBuffer}.
+     *
+     * <p>This method is designed for parsing large files. It does not create {@link Quantity} objects,
+     * parses plain decimal numbers without allocation and resolves each distinct unit symbol only once.
+     * Lines that cannot be parsed, or having a unit incompatible with the target unit, do not stop the parsing.
+     * Instead, {@link Double#NaN} is stored in the returned array and the {@code onError} function is invoked
+     * with the error and the line number in the source, starting at 1. The line number may be greater than
+     * the index in the returned array because blank lines are skipped. A line separator can be {@code "\n"},
+     * {@code "\r"} or {@code "\r\n"}.</p>
+     *
+     * @param  source   the lines to parse.
+     * @param  target   the unit of the returned values.
+     * @param  onError  the function to invoke for each line that cannot be parsed, with the line number.
+     * @return the parsed values, in units of {@code target}.
+     * @throws IOException if an error occurred while reading from the source.
+     *
+     * @since 1.4
+     */
+    public double[] parseColumn(final Readable source, final Unit<?> target,
+            final ObjIntConsumer<MeasurementParseException> onError) throws IOException
+    {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(onError);
+        return new QuantityColumnParser(numberFormat(), unitFormat, target, onError).parse(source);
+    }
+
     /**
      * Parses text from a string to produce a quantity, or returns {@code null} if the parsing failed.
      *
@@ -209,7 +341,7 @@ public class QuantityFormat extends Format implements javax.measure.format.Quant
     @Override
     public Object parseObject(final String source, final ParsePosition pos) {
         final int start = pos.getIndex();
-        final Number value = numberFormat.parse(source, pos);
+        final Number value = numberFormat().parse(source, pos);
         if (value != null) {
             try {
                 final Unit<?> unit = unitFormat.parse(source, pos);
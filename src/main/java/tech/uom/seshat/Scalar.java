@@ -33,7 +33,7 @@ import tech.uom.seshat.resources.Errors;
  *
  * @author  Martin Desruisseaux (Geomatys)
  * @author  Alexis Manin (Geomatys)
- * @version 1.2
+ * @version 1.4
  *
  * @param <Q>  the type of quantity implemented by this scalar.
  *
@@ -404,12 +404,22 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
      * Following inner classes are straightforward implementations for some commonly used quantity types.
      * We do not need to provide an implementation for every types; we will fallback on a proxy mechanism
      * as a fallback for less frequently used types.
+     *
+     * The FACTORY constants are anonymous classes rather than constructor references on purpose:
+     * they are used by the `Units` static initializer, and bootstrapping lambda expressions there
+     * was a significant part of the initialization time of short-lived applications.
      */
 
 
     static final class Dimensionless extends Scalar<javax.measure.quantity.Dimensionless>
                                      implements     javax.measure.quantity.Dimensionless
     {
+        static final ScalarFactory<javax.measure.quantity.Dimensionless> FACTORY = new ScalarFactory<javax.measure.quantity.Dimensionless>() {
+            @Override public javax.measure.quantity.Dimensionless create(double value, Unit<javax.measure.quantity.Dimensionless> unit) {
+                return new Dimensionless(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -7783945219314403648L;
         Dimensionless(double value, Unit<javax.measure.quantity.Dimensionless> unit) {super(value, unit);}
 
@@ -422,6 +432,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Angle extends Scalar<javax.measure.quantity.Angle>
                              implements     javax.measure.quantity.Angle
     {
+        static final ScalarFactory<javax.measure.quantity.Angle> FACTORY = new ScalarFactory<javax.measure.quantity.Angle>() {
+            @Override public javax.measure.quantity.Angle create(double value, Unit<javax.measure.quantity.Angle> unit) {
+                return new Angle(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -1706116845342397826L;
         Angle(double value, Unit<javax.measure.quantity.Angle> unit) {super(value, unit);}
 
@@ -434,6 +450,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Length extends Scalar<javax.measure.quantity.Length>
                               implements     javax.measure.quantity.Length
     {
+        static final ScalarFactory<javax.measure.quantity.Length> FACTORY = new ScalarFactory<javax.measure.quantity.Length>() {
+            @Override public javax.measure.quantity.Length create(double value, Unit<javax.measure.quantity.Length> unit) {
+                return new Length(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = 6664029554501181657L;
         Length(double value, Unit<javax.measure.quantity.Length> unit) {super(value, unit);}
 
@@ -446,6 +468,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Area extends Scalar<javax.measure.quantity.Area>
                             implements     javax.measure.quantity.Area
     {
+        static final ScalarFactory<javax.measure.quantity.Area> FACTORY = new ScalarFactory<javax.measure.quantity.Area>() {
+            @Override public javax.measure.quantity.Area create(double value, Unit<javax.measure.quantity.Area> unit) {
+                return new Area(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -9127932093170175175L;
         Area(double value, Unit<javax.measure.quantity.Area> unit) {super(value, unit);}
 
@@ -458,6 +486,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Volume extends Scalar<javax.measure.quantity.Volume>
                               implements     javax.measure.quantity.Volume
     {
+        static final ScalarFactory<javax.measure.quantity.Volume> FACTORY = new ScalarFactory<javax.measure.quantity.Volume>() {
+            @Override public javax.measure.quantity.Volume create(double value, Unit<javax.measure.quantity.Volume> unit) {
+                return new Volume(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -1505528008598251420L;
         Volume(double value, Unit<javax.measure.quantity.Volume> unit) {super(value, unit);}
 
@@ -470,6 +504,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Time extends Scalar<javax.measure.quantity.Time>
                             implements     javax.measure.quantity.Time
     {
+        static final ScalarFactory<javax.measure.quantity.Time> FACTORY = new ScalarFactory<javax.measure.quantity.Time>() {
+            @Override public javax.measure.quantity.Time create(double value, Unit<javax.measure.quantity.Time> unit) {
+                return new Time(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = 3992130757485565027L;
         Time(double value, Unit<javax.measure.quantity.Time> unit) {super(value, unit);}
 
@@ -482,6 +522,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Frequency extends Scalar<javax.measure.quantity.Frequency>
                                  implements     javax.measure.quantity.Frequency
     {
+        static final ScalarFactory<javax.measure.quantity.Frequency> FACTORY = new ScalarFactory<javax.measure.quantity.Frequency>() {
+            @Override public javax.measure.quantity.Frequency create(double value, Unit<javax.measure.quantity.Frequency> unit) {
+                return new Frequency(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -2038564695278895642L;
         Frequency(double value, Unit<javax.measure.quantity.Frequency> unit) {super(value, unit);}
 
@@ -494,6 +540,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Speed extends Scalar<javax.measure.quantity.Speed>
                              implements     javax.measure.quantity.Speed
     {
+        static final ScalarFactory<javax.measure.quantity.Speed> FACTORY = new ScalarFactory<javax.measure.quantity.Speed>() {
+            @Override public javax.measure.quantity.Speed create(double value, Unit<javax.measure.quantity.Speed> unit) {
+                return new Speed(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = 4086187563299428546L;
         Speed(double value, Unit<javax.measure.quantity.Speed> unit) {super(value, unit);}
 
@@ -506,6 +558,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Acceleration extends Scalar<javax.measure.quantity.Acceleration>
                                     implements     javax.measure.quantity.Acceleration
     {
+        static final ScalarFactory<javax.measure.quantity.Acceleration> FACTORY = new ScalarFactory<javax.measure.quantity.Acceleration>() {
+            @Override public javax.measure.quantity.Acceleration create(double value, Unit<javax.measure.quantity.Acceleration> unit) {
+                return new Acceleration(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = 8041442665100572880L;
         Acceleration(double value, Unit<javax.measure.quantity.Acceleration> unit) {super(value, unit);}
 
@@ -518,6 +576,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Mass extends Scalar<javax.measure.quantity.Mass>
                             implements     javax.measure.quantity.Mass
     {
+        static final ScalarFactory<javax.measure.quantity.Mass> FACTORY = new ScalarFactory<javax.measure.quantity.Mass>() {
+            @Override public javax.measure.quantity.Mass create(double value, Unit<javax.measure.quantity.Mass> unit) {
+                return new Mass(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -3348515590324141647L;
         Mass(double value, Unit<javax.measure.quantity.Mass> unit) {super(value, unit);}
 
@@ -530,6 +594,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Force extends Scalar<javax.measure.quantity.Force>
                              implements     javax.measure.quantity.Force
     {
+        static final ScalarFactory<javax.measure.quantity.Force> FACTORY = new ScalarFactory<javax.measure.quantity.Force>() {
+            @Override public javax.measure.quantity.Force create(double value, Unit<javax.measure.quantity.Force> unit) {
+                return new Force(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -4988289861436247522L;
         Force(double value, Unit<javax.measure.quantity.Force> unit) {super(value, unit);}
 
@@ -542,6 +612,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Energy extends Scalar<javax.measure.quantity.Energy>
                               implements     javax.measure.quantity.Energy
     {
+        static final ScalarFactory<javax.measure.quantity.Energy> FACTORY = new ScalarFactory<javax.measure.quantity.Energy>() {
+            @Override public javax.measure.quantity.Energy create(double value, Unit<javax.measure.quantity.Energy> unit) {
+                return new Energy(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = 857370990868536857L;
         Energy(double value, Unit<javax.measure.quantity.Energy> unit) {super(value, unit);}
 
@@ -554,6 +630,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Power extends Scalar<javax.measure.quantity.Power>
                              implements     javax.measure.quantity.Power
     {
+        static final ScalarFactory<javax.measure.quantity.Power> FACTORY = new ScalarFactory<javax.measure.quantity.Power>() {
+            @Override public javax.measure.quantity.Power create(double value, Unit<javax.measure.quantity.Power> unit) {
+                return new Power(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -5751533351918725110L;
         Power(double value, Unit<javax.measure.quantity.Power> unit) {super(value, unit);}
 
@@ -566,6 +648,12 @@ class Scalar<Q extends Quantity<Q>> extends Number implements Quantity<Q>, Compa
     static final class Pressure extends Scalar<javax.measure.quantity.Pressure>
                                 implements     javax.measure.quantity.Pressure
     {
+        static final ScalarFactory<javax.measure.quantity.Pressure> FACTORY = new ScalarFactory<javax.measure.quantity.Pressure>() {
+            @Override public javax.measure.quantity.Pressure create(double value, Unit<javax.measure.quantity.Pressure> unit) {
+                return new Pressure(value, unit);
+            }
+        };
+
         private static final long serialVersionUID = -8647834252032382587L;
         Pressure(double value, Unit<javax.measure.quantity.Pressure> unit) {super(value, unit);}
 
@@ -31,7 +31,7 @@ import tech.uom.seshat.resources.Errors;
  * This class and all inner classes are immutable, and thus inherently thread-safe.
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.1
  */
 class SexagesimalConverter extends AbstractConverter {
@@ -169,6 +169,22 @@ class SexagesimalConverter extends AbstractConverter {
         return angle / divider;
     }
 
+    /**
+     * Performs a conversion from fractional degrees to sexagesimal degrees on a sequence of values.
+     */
+    @Override
+    public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+        if (isBackward(src, srcOff, dst, dstOff, len)) {
+            for (int i=len; --i >= 0;) {
+                dst[dstOff + i] = convert(src[srcOff + i]);
+            }
+        } else {
+            for (int i=0; i<len; i++) {
+                dst[dstOff + i] = convert(src[srcOff + i]);
+            }
+        }
+    }
+
     /**
      * Considers this converter as non-derivable. Actually it would be possible to provide a derivative value
      * for input values other than the discontinuities points, but for now we presume that it is less dangerous
@@ -252,6 +268,28 @@ class SexagesimalConverter extends AbstractConverter {
          */
         @Override
         public double convert(final double angle) throws IllegalArgumentException {
+            return convert(angle, true);
+        }
+
+        /**
+         * Performs a conversion from sexagesimal degrees to fractional degrees,
+         * returning NaN instead of throwing an exception if a field is illegal.
+         */
+        @Override
+        final double convertOrNaN(final double angle) {
+            return convert(angle, false);
+        }
+
+        /**
+         * Implementation of {@link #convert(double)} and {@link #convertOrNaN(double)}.
+         * The {@code strict} argument is a constant in each caller, so the JIT compiler
+         * can remove the exception construction from the bulk conversion loops.
+         *
+         * @param  angle   the sexagesimal angle to convert.
+         * @param  strict  {@code true} for throwing an exception on illegal fields, or {@code false} for returning NaN.
+         * @throws IllegalArgumentException If the given angle cannot be converted and {@code strict} is {@code true}.
+         */
+        private double convert(final double angle, final boolean strict) {
             double deg,min,sec,mgn;
             if (hasSeconds) {
                 sec = mgn = angle * divider;
@@ -269,21 +307,43 @@ class SexagesimalConverter extends AbstractConverter {
                 if (Math.abs(Math.abs(min) - 100) <= (EPS * 100)) {
                     if (min >= 0) deg++; else deg--;
                     min = 0;
-                } else {
+                } else if (strict) {
                     throw illegalField(angle, min, 0);
+                } else {
+                    return Double.NaN;
                 }
             }
             if (sec <= -60 || sec >= 60) {                              // Do not enter for NaN
                 if (Math.abs(Math.abs(sec) - 100) <= (EPS * 100)) {
                     if (sec >= 0) min++; else min--;
                     sec = 0;
-                } else {
+                } else if (strict) {
                     throw illegalField(angle, sec, 1);
+                } else {
+                    return Double.NaN;
                 }
             }
             return (sec/60 + min)/60 + deg;
         }
 
+        /**
+         * Performs a conversion from sexagesimal degrees to fractional degrees on a sequence of values.
+         * Values having an illegal minutes or seconds field are converted to NaN, so that a single
+         * malformed value does not abort the conversion of the whole sequence.
+         */
+        @Override
+        public void convert(final double[] src, final int srcOff, final double[] dst, final int dstOff, final int len) {
+            if (isBackward(src, srcOff, dst, dstOff, len)) {
+                for (int i=len; --i >= 0;) {
+                    dst[dstOff + i] = convert(src[srcOff + i], false);
+                }
+            } else {
+                for (int i=0; i<len; i++) {
+                    dst[dstOff + i] = convert(src[srcOff + i], false);
+                }
+            }
+        }
+
         /**
          * Creates an exception for an illegal field.
          *
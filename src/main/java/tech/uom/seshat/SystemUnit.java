@@ -38,7 +38,7 @@ import tech.uom.seshat.resources.Errors;
  * without scale factor or offset.
  *
  * @author  Martin Desruisseaux (MPO, Geomatys)
- * @version 1.1
+ * @version 1.4
  *
  * @param <Q>  the kind of quantity to be measured using this units.
  *
@@ -276,7 +276,7 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
         if (unit == null) {
             unit = new SystemUnit<>(type, dimension, null, (byte) 0, (short) 0, null);  // Intentionally no symbol.
         }
-        if (!dimension.equals(unit.dimension)) {
+        if (!dimension.sameAs(unit.dimension)) {
             throw new ClassCastException(Errors.format(Errors.Keys.IncompatibleUnitDimension_5, new Object[] {
                     this, (quantity != null) ? quantity.getSimpleName() : "?", dimension,
                     type.getSimpleName(), unit.dimension}));
@@ -428,7 +428,9 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
     public Unit<?> multiply(final Unit<?> multiplier) {
         Objects.requireNonNull(multiplier);
         if (multiplier == this) return pow(2);                      // For formating e.g. "K²" instead of "K⋅K".
-        return product(multiplier, false);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(MULTIPLY, multiplier, 0);
+        return (result != null) ? result : cache.put(MULTIPLY, multiplier, 0, product(multiplier, false));
     }
 
     /**
@@ -440,7 +442,9 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
     @Override
     public Unit<?> divide(final Unit<?> divisor) {
         Objects.requireNonNull(divisor);
-        return product(divisor, true);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(DIVIDE, divisor, 0);
+        return (result != null) ? result : cache.put(DIVIDE, divisor, 0, product(divisor, true));
     }
 
     /**
@@ -492,8 +496,11 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
             case 0: return Units.UNITY;
             case 1: return this;
             default: {
+                final OperationCache cache = operations();
+                final Unit<?> result = cache.get(OperationCache.POW, null, n);
+                if (result != null) return result;
                 final char p = (n >= 0 && n <= 9) ? Characters.toSuperScript((char) ('0' + n)) : 0;
-                return create(dimension.pow(n), p, null);
+                return cache.put(OperationCache.POW, null, n, create(dimension.pow(n), p, null));
             }
         }
     }
@@ -507,7 +514,9 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
      */
     @Override
     public Unit<?> root(final int n) {
-        return create(dimension.root(n), (char) 0, null);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(OperationCache.ROOT, null, n);
+        return (result != null) ? result : cache.put(OperationCache.ROOT, null, n, create(dimension.root(n), (char) 0, null));
     }
 
     /**
@@ -517,8 +526,15 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
      * @return the unit after the specified transformation.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public Unit<Q> transform(UnitConverter operation) {
         Objects.requireNonNull(operation);
+        final OperationCache cache = operations();
+        final Unit<?> result = cache.get(OperationCache.TRANSFORM, operation, 0);
+        if (result != null) {
+            return (Unit<Q>) result;
+        }
+        final UnitConverter key = operation;
         AbstractUnit<Q> base = this;
         final ConventionalUnit<Q> pseudo = Prefixes.pseudoSystemUnit(this);
         if (pseudo != null) {
@@ -534,7 +550,7 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
             operation = operation.concatenate(pseudo.toTarget.inverse());
             base = pseudo;
         }
-        return ConventionalUnit.create(base, operation);
+        return cache.put(OperationCache.TRANSFORM, key, 0, ConventionalUnit.create(base, operation));
     }
 
     /**
@@ -573,7 +589,7 @@ final class SystemUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> implements
         }
         if (super.equals(other)) {
             final SystemUnit<?> that = (SystemUnit<?>) other;
-            return Objects.equals(quantity, that.quantity) && dimension.equals(that.dimension);
+            return Objects.equals(quantity, that.quantity) && dimension.sameAs(that.dimension);
         }
         return false;
     }
@@ -20,8 +20,10 @@ import java.util.Set;
 import java.util.Map;
 import java.util.LinkedHashMap;
 import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.io.Serializable;
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.UncheckedIOException;
 import java.io.ObjectStreamException;
 import javax.measure.Dimension;
@@ -54,7 +56,7 @@ import tech.uom.seshat.util.DerivedMap;
  * All {@code UnitDimension} instances are immutable and thus inherently thread-safe.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 final class UnitDimension implements Dimension, Serializable {
@@ -63,6 +65,36 @@ final class UnitDimension implements Dimension, Serializable {
      */
     private static final long serialVersionUID = 2568769237612674235L;
 
+    /**
+     * Symbols of the base dimensions which can be packed in a {@link #signature}, in lane order.
+     */
+    private static final String BASE_SYMBOLS = "LMTIΘNJ";
+
+    /**
+     * Number of bits used for the exponent of each base dimension in a {@link #signature}.
+     */
+    private static final int LANE_SIZE = 9;
+
+    /**
+     * The common denominator of exponents stored in a {@link #signature}. Exponents are stored as
+     * numerators of fractions having this denominator, which allows square and cubic roots among others.
+     */
+    private static final int DENOMINATOR = 12;
+
+    /**
+     * Value of {@link #signature} for dimensions that cannot be packed in a {@code long}. This happen if a
+     * base dimension is not one of the {@link #BASE_SYMBOLS}, or if an exponent is too large or not a multiple
+     * of 1/{@value #DENOMINATOR}. All valid signatures use only the 63 lowest bits, so this value can not clash.
+     */
+    private static final long UNPACKED = Long.MIN_VALUE;
+
+    /**
+     * Cache of dimensions indexed by a hash of their {@linkplain #signature}.
+     * Entries are verified against the signature before to be returned.
+     * In case of collision, the most recently used dimension wins.
+     */
+    private static final AtomicReferenceArray<UnitDimension> BY_SIGNATURE = new AtomicReferenceArray<>(256);
+
     /**
      * Pseudo-dimension for dimensionless units.
      */
@@ -85,6 +117,21 @@ final class UnitDimension implements Dimension, Serializable {
      */
     final char symbol;
 
+    /**
+     * The exponents of the base dimensions packed in a {@code long}, or {@link #UNPACKED} if they do not fit.
+     * Each exponent <var>e</var> is stored as a {@value #LANE_SIZE} bits signed integer <var>e</var>×{@value
+     * #DENOMINATOR}, in the order of {@link #BASE_SYMBOLS}. This signature allows to multiply, divide and
+     * compare dimensions using only arithmetic on primitive values. It is computed from {@link #components}.
+     * This field is not serialized; it is recomputed by {@link #readObject(ObjectInputStream)}.
+     * It should be considered final.
+     */
+    private transient long signature;
+
+    /**
+     * The map returned by {@link #getBaseDimensions()}, created when first needed.
+     */
+    private transient volatile Map<UnitDimension,Integer> baseDimensions;
+
     /**
      * Creates a new base dimension with the given symbol, which shall not be zero.
      * This constructor shall be invoked only during construction of {@link Units} constants.
@@ -95,6 +142,7 @@ final class UnitDimension implements Dimension, Serializable {
     UnitDimension(final char symbol) {
         this.symbol = symbol;
         components  = Map.of(this, new Fraction(1,1).unique());
+        signature   = signature(components);
         UnitRegistry.init(components, this);
     }
 
@@ -107,6 +155,116 @@ final class UnitDimension implements Dimension, Serializable {
     private UnitDimension(final Map<UnitDimension,Fraction> components) {
         this.components = components;
         this.symbol     = 0;
+        this.signature  = signature(components);
+    }
+
+    /**
+     * Computes the packed signature of the given product of base dimensions.
+     *
+     * @param  components  the product of base dimensions together with their power.
+     * @return the packed exponents, or {@link #UNPACKED} if they do not fit in a {@code long}.
+     */
+    private static long signature(final Map<UnitDimension,Fraction> components) {
+        long packed = 0;
+        for (final Map.Entry<UnitDimension,Fraction> entry : components.entrySet()) {
+            final int lane = BASE_SYMBOLS.indexOf(entry.getKey().symbol);
+            final Fraction power = entry.getValue();
+            final long n = (long) power.numerator * DENOMINATOR;
+            if (lane < 0 || n % power.denominator != 0) {
+                return UNPACKED;
+            }
+            packed = set(packed, lane, n / power.denominator);
+            if (packed == UNPACKED) break;
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the exponent (multiplied by {@value #DENOMINATOR}) stored in the given lane of a signature.
+     */
+    private static int get(final long signature, final int lane) {
+        return (int) ((signature << (Long.SIZE - LANE_SIZE * (lane + 1))) >> (Long.SIZE - LANE_SIZE));
+    }
+
+    /**
+     * Sets the exponent (multiplied by {@value #DENOMINATOR}) in the given lane of a signature,
+     * which shall be initially zero. Returns {@link #UNPACKED} if the value does not fit.
+     */
+    private static long set(final long signature, final int lane, final long value) {
+        if (value < -(1 << (LANE_SIZE - 1)) || value >= (1 << (LANE_SIZE - 1))) {
+            return UNPACKED;
+        }
+        return signature | ((value & ((1 << LANE_SIZE) - 1)) << (LANE_SIZE * lane));
+    }
+
+    /**
+     * Returns the signature of the product of two dimensions, or of their quotient if {@code factor} is -1.
+     * Returns {@link #UNPACKED} if an operand is unpacked or if the result does not fit.
+     */
+    private static long combine(final long s1, final long s2, final int factor) {
+        if (s1 == UNPACKED || s2 == UNPACKED) {
+            return UNPACKED;
+        }
+        long packed = 0;
+        for (int lane = 0; lane < BASE_SYMBOLS.length(); lane++) {
+            packed = set(packed, lane, get(s1, lane) + factor * get(s2, lane));
+            if (packed == UNPACKED) break;
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the signature of a dimension raised to the power <var>num</var>/<var>den</var>.
+     * Returns {@link #UNPACKED} if the operand is unpacked or if the result does not fit.
+     */
+    private static long pow(final long signature, final int num, final int den) {
+        if (signature == UNPACKED) {
+            return UNPACKED;
+        }
+        long packed = 0;
+        for (int lane = 0; lane < BASE_SYMBOLS.length(); lane++) {
+            final long n = (long) get(signature, lane) * num;
+            if (n % den != 0) {
+                return UNPACKED;
+            }
+            packed = set(packed, lane, n / den);
+            if (packed == UNPACKED) break;
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the slot in {@link #BY_SIGNATURE} for the given signature.
+     */
+    private static int slot(final long signature) {
+        final int h = Long.hashCode(signature) * 0x9E3779B9;
+        return h >>> (Integer.SIZE - 8);
+    }
+
+    /**
+     * Returns the cached dimension having the given signature, or {@code null} if none.
+     * This method does not allocate objects.
+     */
+    private static UnitDimension cached(final long signature) {
+        if (signature != UNPACKED) {
+            final UnitDimension dim = BY_SIGNATURE.get(slot(signature));
+            if (dim != null && dim.signature == signature) {
+                return dim;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the given dimension in the cache of dimensions indexed by signature.
+     *
+     * @return the given dimension, for convenience.
+     */
+    private static UnitDimension cache(final UnitDimension dim) {
+        if (dim.signature != UNPACKED) {
+            BY_SIGNATURE.set(slot(dim.signature), dim);
+        }
+        return dim;
     }
 
     /**
@@ -133,7 +291,9 @@ final class UnitDimension implements Dimension, Serializable {
          */
         UnitDimension dim = (UnitDimension) UnitRegistry.get(components);
         if (dim == null) {
-            components.replaceAll((c, power) -> power.unique());
+            for (final Map.Entry<UnitDimension,Fraction> entry : components.entrySet()) {
+                entry.setValue(entry.getValue().unique());
+            }
             // We can not use Map.copyOf because we need to preserve order.
             switch (components.size()) {
                 default: components = Collections.unmodifiableMap(components); break;
@@ -157,6 +317,20 @@ final class UnitDimension implements Dimension, Serializable {
         return dim;
     }
 
+    /**
+     * Invoked on deserialization for computing the signature, which is needed by {@link #hashCode()}
+     * and {@link #equals(Object)}. This must be done before {@link #readResolve()} searches for the
+     * unique instance in the {@link UnitRegistry}.
+     *
+     * @param  in  the input stream from which to deserialize a dimension.
+     * @throws IOException if an I/O error occurred while reading or if the stream contains invalid data.
+     * @throws ClassNotFoundException if the class serialized on the stream is not on the classpath.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        signature = signature(components);
+    }
+
     /**
      * Invoked on deserialization for returning a unique instance of {@code UnitDimension}.
      */
@@ -165,10 +339,11 @@ final class UnitDimension implements Dimension, Serializable {
             return NONE;
         }
         if (Units.initialized) {        // Force Units class initialization.
-            final UnitDimension dim = (UnitDimension) UnitRegistry.putIfAbsent(components, this);
+            final UnitDimension dim = (UnitDimension) UnitRegistry.get(components);
             if (dim != null) {
                 return dim;
             }
+            return create(new LinkedHashMap<>(components));
         }
         return this;
     }
@@ -232,7 +407,12 @@ final class UnitDimension implements Dimension, Serializable {
         if (symbol != 0) {
             return null;
         }
-        return new DerivedMap<>(components, Function.identity(), FractionConverter.INSTANCE);
+        Map<UnitDimension,Integer> view = baseDimensions;
+        if (view == null) {
+            // No synchronization needed: in case of race condition, we just create an equivalent view twice.
+            baseDimensions = view = new DerivedMap<>(components, Function.identity(), FractionConverter.INSTANCE);
+        }
+        return view;
     }
 
     /**
@@ -287,6 +467,14 @@ final class UnitDimension implements Dimension, Serializable {
      * @return the product or division of this dimension by the given dimension.
      */
     private UnitDimension combine(final Dimension other, final boolean divide) {
+        long packed = UNPACKED;
+        if (other instanceof UnitDimension) {
+            packed = combine(signature, ((UnitDimension) other).signature, divide ? -1 : +1);
+            final UnitDimension dim = cached(packed);
+            if (dim != null) {
+                return dim;
+            }
+        }
         final Map<UnitDimension,Fraction> product = new LinkedHashMap<>(components);
         for (final Map.Entry<? extends Dimension, Fraction> entry : getBaseDimensions(other).entrySet()) {
             final Dimension dim = entry.getKey();
@@ -295,15 +483,22 @@ final class UnitDimension implements Dimension, Serializable {
                 p = p.negate();
             }
             if (dim instanceof UnitDimension) {
-                product.merge((UnitDimension) dim, p, (sum, toAdd) -> {
-                    sum = sum.add(toAdd);
-                    return (sum.numerator != 0) ? sum : null;
-                });
+                final Fraction sum = product.get(dim);
+                if (sum != null) {
+                    p = sum.add(p);
+                }
+                if (p.numerator != 0) {
+                    product.put((UnitDimension) dim, p);
+                } else {
+                    product.remove(dim);
+                }
             } else if (p.numerator != 0) {
                 throw new UnsupportedOperationException(Errors.format(Errors.Keys.UnsupportedImplementation_1, dim.getClass()));
             }
         }
-        return create(product);
+        final UnitDimension dim = create(product);
+        assert packed == UNPACKED || packed == dim.signature : dim;
+        return cache(dim);
     }
 
     /**
@@ -313,9 +508,15 @@ final class UnitDimension implements Dimension, Serializable {
      * @return {@code this}ⁿ
      */
     private UnitDimension pow(final Fraction n) {
+        final UnitDimension dim = cached(pow(signature, n.numerator, n.denominator));
+        if (dim != null) {
+            return dim;
+        }
         final Map<UnitDimension,Fraction> product = new LinkedHashMap<>(components);
-        product.replaceAll((dim, power) -> power.multiply(n));
-        return create(product);
+        for (final Map.Entry<UnitDimension,Fraction> entry : product.entrySet()) {
+            entry.setValue(entry.getValue().multiply(n));
+        }
+        return cache(create(product));
     }
 
     /**
@@ -358,6 +559,9 @@ final class UnitDimension implements Dimension, Serializable {
         }
         if (other instanceof UnitDimension) {
             final UnitDimension that = (UnitDimension) other;
+            if (signature != UNPACKED && that.signature != UNPACKED) {
+                return signature == that.signature;
+            }
             if (symbol == that.symbol) {
                 /*
                  * Do not compare `components` if `symbols` is non-zero because in such case
@@ -369,6 +573,22 @@ final class UnitDimension implements Dimension, Serializable {
         return false;
     }
 
+    /**
+     * Returns {@code true} if this dimension is equal to the given dimension.
+     * This is equivalent to {@link #equals(Object)}, but cheaper when the type is known:
+     * for dimensions that fit in a signature, the comparison is a single {@code long} comparison.
+     * This method is used for compatibility checks between units, which are frequent.
+     *
+     * @param  other  the other dimension to compare with this dimension.
+     * @return whether the two dimensions are equal.
+     */
+    final boolean sameAs(final UnitDimension other) {
+        if (signature != UNPACKED && other.signature != UNPACKED) {
+            return signature == other.signature;
+        }
+        return equals(other);
+    }
+
     /**
      * Returns a hash code value for this dimension.
      */
@@ -378,6 +598,9 @@ final class UnitDimension implements Dimension, Serializable {
          * Do not use `components` in hash code calculation if `symbols` is non-zero
          * beause in such case the map contains `this`, which would cause an infinite loop.
          */
+        if (signature != UNPACKED) {
+            return Long.hashCode(signature) ^ (int) serialVersionUID;
+        }
         return (symbol != 0) ? symbol ^ (int) serialVersionUID : components.hashCode();
     }
 
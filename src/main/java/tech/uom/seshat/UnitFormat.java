@@ -22,6 +22,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.Format;
 import java.text.FieldPosition;
 import java.text.ParsePosition;
@@ -41,7 +44,7 @@ import tech.uom.seshat.resources.Errors;
 import tech.uom.seshat.util.Characters;
 import tech.uom.seshat.util.CharSequences;
 import tech.uom.seshat.util.DefinitionURI;
-import tech.uom.seshat.util.WeakValueHashMap;
+import tech.uom.seshat.util.ConcurrentWeakValueMap;
 
 
 /**
@@ -63,10 +66,11 @@ import tech.uom.seshat.util.WeakValueHashMap;
  *
  * <h2>Multi-threading</h2>
  * {@code UnitFormat} is generally not thread-safe. If units need to be parsed or formatted in different threads,
- * each thread should have its own {@code UnitFormat} instance.
+ * each thread should have its own {@code UnitFormat} instance. An exception to this rule is the unmodifiable
+ * instances returned by {@link #getInstance(Locale, Style)}, which can be shared by all threads.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.3
+ * @version 1.4
  *
  * @see Units#valueOf(String)
  *
@@ -96,10 +100,15 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
 
     /**
      * The default instance used by {@link Units#valueOf(String)} for parsing units of measurement.
-     * While {@code UnitFormat} is generally not thread-safe, this particular instance is safe if
-     * we never invoke any setter method and we do not format with {@link Style#NAME}.
+     * This instance is unmodifiable and can be used in a multi-threads environment.
      */
-    static final UnitFormat INSTANCE = new UnitFormat();
+    static final UnitFormat INSTANCE = new Unmodifiable(Locale.ROOT, Style.SYMBOL);
+
+    /**
+     * The unmodifiable instances returned by {@link #getInstance(Locale, Style)},
+     * indexed by locale and by {@linkplain Style#ordinal() style ordinal}.
+     */
+    private static final ConcurrentHashMap<Locale, UnitFormat[]> POOL = new ConcurrentHashMap<>();
 
     /**
      * The locale specified at construction time or modified by {@link #setLocale(Locale)}.
@@ -294,16 +303,118 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
      *
      * @see #fromName(String)
      */
-    private static final WeakValueHashMap<Locale, Map<String,Unit<?>>> SHARED = new WeakValueHashMap<>(Locale.class);
+    private static final ConcurrentWeakValueMap<Locale, Map<String,Unit<?>>> SHARED = new ConcurrentWeakValueMap<>();
 
     /**
-     * Creates the unique {@link #INSTANCE}.
+     * Whether {@link #parse(CharSequence)} should cache the units that it parsed.
+     * This is always {@code true} for {@link #INSTANCE} and {@code false} by default for other formats.
+     *
+     * @see #setParseCacheEnabled(boolean)
      */
-    private UnitFormat() {
-        locale      = Locale.ROOT;
-        style       = Style.SYMBOL;
-        unitToLabel = Map.of();
-        labelToUnit = Map.of();
+    private transient boolean cacheParsing;
+
+    /**
+     * Units previously parsed by {@link #parse(CharSequence)}, or {@code null} if not yet created.
+     * Formats without labels share the cache of all other formats for the same locale.
+     * Formats with labels use their own cache, which is discarded when labels or locale change.
+     *
+     * @see #parseCache()
+     */
+    private transient volatile ParseCache parseCache;
+
+    /**
+     * Creates an unmodifiable format without labels, for {@link #INSTANCE} and other shared instances.
+     */
+    private UnitFormat(final Locale locale, final Style style) {
+        this.locale  = locale;
+        this.style   = style;
+        unitToLabel  = Map.of();
+        labelToUnit  = Map.of();
+        cacheParsing = true;
+    }
+
+    /**
+     * Returns a shared format for the given locale and style. The returned format is unmodifiable:
+     * invoking a setter method or {@link #label(Unit, String)} causes an {@link UnsupportedOperationException}
+     * to be thrown. In return, the format is thread-safe and can be used concurrently by all threads without
+     * synchronization. The format caches the units that it parsed, as documented in
+     * {@link #setParseCacheEnabled(boolean)}. A modifiable copy can be obtained by {@link #clone()}.
+     *
+     * @param  locale  the locale to use for parsing and formatting units.
+     * @param  style   the style of units formatted by the returned format.
+     * @return a shared unmodifiable format for the given locale and style.
+     *
+     * @see UnitServices#getUnitFormat(String)
+     * @since 1.4
+     */
+    public static UnitFormat getInstance(final Locale locale, final Style style) {
+        Objects.requireNonNull(locale);
+        UnitFormat[] formats = POOL.get(locale);
+        if (formats == null) {
+            final Style[] styles = Style.values();
+            formats = new UnitFormat[styles.length];
+            for (final Style s : styles) {
+                formats[s.ordinal()] = (s == Style.SYMBOL && locale.equals(Locale.ROOT)) ? INSTANCE : new Unmodifiable(locale, s);
+            }
+            final UnitFormat[] existing = POOL.putIfAbsent(locale, formats);
+            if (existing != null) {
+                formats = existing;
+            }
+        }
+        return formats[style.ordinal()];
+    }
+
+    /**
+     * A format which cannot be modified, and is therefore safe for sharing between threads.
+     * The parsing and formatting methods of {@code UnitFormat} do not modify the format state
+     * except for caches, which are thread-safe.
+     *
+     * @see #getInstance(Locale, Style)
+     */
+    private static final class Unmodifiable extends UnitFormat {
+        /**
+         * For cross-version compatibility.
+         */
+        private static final long serialVersionUID = 2710542396127542434L;
+
+        /**
+         * Creates a new unmodifiable format for the given locale and style.
+         */
+        Unmodifiable(final Locale locale, final Style style) {
+            super(locale, style);
+        }
+
+        /**
+         * Returns the exception to throw when a user tries to modify this format.
+         */
+        private static UnsupportedOperationException unmodifiable() {
+            return new UnsupportedOperationException(Errors.format(Errors.Keys.UnmodifiableObject_1, UnitFormat.class.getSimpleName()));
+        }
+
+        /** Unsupported operation since this format is unmodifiable. */
+        @Override public void setLocale(Locale locale)                { throw unmodifiable(); }
+        @Override public void setStyle(Style style)                   { throw unmodifiable(); }
+        @Override public void label(Unit<?> unit, String label)       { throw unmodifiable(); }
+        @Override public void setParseCacheEnabled(boolean enabled)   { throw unmodifiable(); }
+
+        /**
+         * Returns a modifiable copy of this format.
+         */
+        @Override
+        public UnitFormat clone() {
+            final UnitFormat f = new UnitFormat(getLocale());
+            f.setStyle(getStyle());
+            return f;
+        }
+
+        /**
+         * Returns the shared instance after deserialization.
+         *
+         * @return the shared instance for the locale and style of this format.
+         */
+        private Object readResolve() {
+            return getInstance(getLocale(), getStyle());
+        }
     }
 
     /**
@@ -334,6 +445,8 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
      * instructs this formatter to use the “meter” spelling instead of “metre”.
      *
      * @param  locale  the new locale for this {@code UnitFormat}.
+     * @throws UnsupportedOperationException if this format is a
+     *         {@linkplain #getInstance(Locale, Style) shared unmodifiable instance}.
      *
      * @see UnitServices#getUnitFormat(String)
      */
@@ -342,6 +455,7 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
         this.locale  = locale;
         symbolToName = null;            // Force reloading for the new locale.
         nameToUnit   = null;
+        parseCache   = null;
     }
 
     /**
@@ -432,6 +546,80 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
              */
             throw new ConcurrentModificationException("labelToUnit");
         }
+        parseCache = null;      // Parsing results may have changed.
+    }
+
+    /**
+     * Returns whether {@link #parse(CharSequence)} caches the units that it parsed.
+     *
+     * @return whether parsing results are cached.
+     *
+     * @since 1.4
+     */
+    public boolean isParseCacheEnabled() {
+        return cacheParsing;
+    }
+
+    /**
+     * Sets whether {@link #parse(CharSequence)} should cache the units that it parsed.
+     * Caching is useful when the same strings are parsed many times, for example when reading
+     * the unit of each record in a file. The cache is bounded and contains only successful results.
+     * Formats without {@linkplain #label(Unit, String) labels} share their cache with all other formats
+     * for the same locale, including the format used by {@link Units#valueOf(String)} for the root locale.
+     * Adding a label or changing the locale discards the cache.
+     *
+     * @param  enabled  whether parsing results should be cached.
+     *
+     * @since 1.4
+     */
+    public void setParseCacheEnabled(final boolean enabled) {
+        cacheParsing = enabled;
+        parseCache   = null;
+    }
+
+    /**
+     * Returns the number of times that {@link #parse(CharSequence)} found a cached unit.
+     * If the cache is shared with other formats, then the count includes their lookups.
+     *
+     * @return number of parse cache hits, or 0 if the cache is disabled.
+     *
+     * @see #setParseCacheEnabled(boolean)
+     * @since 1.4
+     */
+    public long getParseCacheHitCount() {
+        final ParseCache cache = parseCache();
+        return (cache != null) ? cache.hitCount() : 0;
+    }
+
+    /**
+     * Returns the number of times that {@link #parse(CharSequence)} did not find a cached unit.
+     * If the cache is shared with other formats, then the count includes their lookups.
+     *
+     * @return number of parse cache misses, or 0 if the cache is disabled.
+     *
+     * @see #setParseCacheEnabled(boolean)
+     * @since 1.4
+     */
+    public long getParseCacheMissCount() {
+        final ParseCache cache = parseCache();
+        return (cache != null) ? cache.missCount() : 0;
+    }
+
+    /**
+     * Returns the cache of parsed units, or {@code null} if caching is disabled.
+     * No synchronization needed: in case of race condition, the worst case is
+     * that two threads use different caches for a short time.
+     */
+    final ParseCache parseCache() {
+        if (!cacheParsing) {
+            return null;
+        }
+        ParseCache cache = parseCache;
+        if (cache == null) {
+            cache = labelToUnit.isEmpty() ? ParseCache.shared(locale) : new ParseCache();
+            parseCache = cache;
+        }
+        return cache;
     }
 
     /**
@@ -460,7 +648,8 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
      * The intent is to recognize "meter" as well as "metre".
      *
      * <p>While we said that {@code UnitFormat} is not thread safe, we make an exception for this method
-     * for allowing the singleton {@link #INSTANCE} to parse symbols in a multi-threads environment.</p>
+     * for allowing the {@linkplain #getInstance(Locale, Style) shared instances} to parse symbols
+     * in a multi-threads environment.</p>
      *
      * @param  uom  the unit symbol, without leading or trailing spaces.
      * @return the unit for the given name, or {@code null} if unknown.
@@ -525,16 +714,20 @@ public class UnitFormat extends Format implements javax.measure.format.UnitForma
                 map = Collections.unmodifiableMap(map);
                 /*
                  * Cache the map so we can share it with other UnitFormat instances.
-                 * Sharing is safe if the map is unmodifiable.
+                 * Sharing is safe if the map is unmodifiable. Locales of the same language
+                 * often have equal maps, in which case we share a single instance. No lock
+                 * is needed: if another thread published a map for the same locale
+                 * concurrently, use the map of that thread.
                  */
-                synchronized (SHARED) {
-                    for (final Map<String,Unit<?>> existing : SHARED.values()) {
-                        if (map.equals(existing)) {
-                            map = existing;
-                            break;
-                        }
+                for (final Map<String,Unit<?>> existing : SHARED.values()) {
+                    if (map.equals(existing)) {
+                        map = existing;
+                        break;
                     }
-                    SHARED.put(locale, map);
+                }
+                final Map<String,Unit<?>> published = SHARED.putIfAbsent(locale, map);
+                if (published != null) {
+                    map = published;
                 }
             }
             nameToUnit = map;
@@ -636,7 +829,7 @@ appPow: if (unit == null) {
                     if (label.isEmpty()) {
                         label = UNITY;
                     }
-                    // Following is not thread-safe, but it is okay since we do not use INSTANCE for unit names.
+                    // No synchronization needed: in case of race condition, the same bundle is loaded twice.
                     final ResourceBundle names = symbolToName();
                     try {
                         label = names.getString(label);
@@ -648,6 +841,38 @@ appPow: if (unit == null) {
                 }
             }
         }
+        /*
+         * Choices 3 and 4 depend only on the unit and the format style, so the result is cached in Seshat units.
+         * The cache is not needed when the unit symbol is appended unchanged (only UCUM style rewrites symbols).
+         */
+        if (unit instanceof AbstractUnit<?>) {
+            if (style != Style.UCUM) {
+                final String symbol = unit.getSymbol();
+                if (symbol != null) {
+                    return toAppendTo.append(symbol);
+                }
+            }
+            final AbstractUnit<?> au = (AbstractUnit<?>) unit;
+            String text = au.formatted(style);
+            if (text == null) {
+                text = formatSymbol(unit, new StringBuilder()).toString();
+                au.formatted(style, text);
+            }
+            return toAppendTo.append(text);
+        }
+        return formatSymbol(unit, toAppendTo);
+    }
+
+    /**
+     * Formats the given unit with its symbol, or with a symbol created from its base units if the unit has no symbol.
+     * This is the part of {@link #format(Unit, Appendable)} which depends neither on labels nor on the locale.
+     *
+     * @param  unit        the unit to format.
+     * @param  toAppendTo  where to format the unit.
+     * @return the given {@code toAppendTo} argument, for method calls chaining.
+     * @throws IOException if an error occurred while writing to the destination.
+     */
+    private Appendable formatSymbol(final Unit<?> unit, final Appendable toAppendTo) throws IOException {
         /*
          * Choice 3: if the unit has a specific symbol, appends that symbol.
          * Seshat implementation uses Unicode characters in the symbol, which are not valid for UCUM.
@@ -966,6 +1191,19 @@ appPow: if (unit == null) {
         return c >= '0' && c <= '9';
     }
 
+    /**
+     * Returns {@code true} if the given range of characters contains the given character.
+     * This is used for avoiding the creation of a {@code String} when it would be useless.
+     */
+    private static boolean contains(final CharSequence text, final char c, int start, final int end) {
+        while (start < end) {
+            if (text.charAt(start++) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns {@code true} if the given character is the sign of a number according the {@code UnitFormat} parser.
      * A return value of {@code true} guarantees that the given character is in the Basic Multilingual Plane (BMP).
@@ -1056,6 +1294,89 @@ appPow: if (unit == null) {
      */
     @Override
     public Unit<?> parse(final CharSequence symbols) throws MeasurementParseException {
+        final ParseCache cache = parseCache();
+        if (cache == null) {
+            return parseWhole(symbols);
+        }
+        final String key = symbols.toString();
+        Unit<?> unit = cache.get(key);
+        if (unit == null) {
+            unit = parseWhole(key);
+            cache.put(key, unit);
+        }
+        return unit;
+    }
+
+    /**
+     * Parses the given range of characters as an instance of {@code Unit}.
+     * This method is equivalent to <code>{@linkplain #parse(CharSequence) parse}(new String(symbols, offset, length))</code>
+     * except that, if the {@linkplain #setParseCacheEnabled(boolean) parse cache is enabled}, no {@code String} is created
+     * when the same characters have been parsed before. This method is convenient for parsers working on character buffers.
+     *
+     * @param  symbols  the characters to parse.
+     * @param  offset   index of the first character to parse.
+     * @param  length   number of characters to parse.
+     * @return the unit parsed from the specified characters.
+     * @throws MeasurementParseException if a problem occurred while parsing the given characters.
+     *
+     * @since 1.4
+     */
+    public Unit<?> parse(final char[] symbols, final int offset, final int length) throws MeasurementParseException {
+        Objects.checkFromIndexSize(offset, length, symbols.length);
+        final ParseCache cache = parseCache();
+        Unit<?> unit;
+        if (cache != null && (unit = cache.get(symbols, offset, length)) != null) {
+            return unit;
+        }
+        final String key = new String(symbols, offset, length);
+        unit = parseWhole(key);
+        if (cache != null) {
+            cache.put(key, unit);
+        }
+        return unit;
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer as an UTF-8 encoded unit symbol.
+     * All bytes from the buffer {@linkplain ByteBuffer#position() position} to its
+     * {@linkplain ByteBuffer#limit() limit} shall be part of the unit symbol.
+     * If the parsing succeeded, then the buffer position is set to its limit.
+     * Otherwise the buffer position is unchanged.
+     *
+     * <p>If the {@linkplain #setParseCacheEnabled(boolean) parse cache is enabled}, then the bytes are decoded on the fly
+     * and compared directly with the strings parsed before. Nothing is allocated when the same symbol has been parsed
+     * before, including symbols with non-ASCII characters such as “°C” or “m²”. This method is convenient for parsers working directly on network buffers.</p>
+     *
+     * @param  symbols  the buffer of bytes to parse.
+     * @return the unit parsed from the remaining bytes.
+     * @throws MeasurementParseException if a problem occurred while parsing the given bytes.
+     *
+     * @since 1.4
+     */
+    public Unit<?> parse(final ByteBuffer symbols) throws MeasurementParseException {
+        final int end = symbols.limit();
+        final ParseCache cache = parseCache();
+        Unit<?> unit;
+        if (cache == null || (unit = cache.get(symbols, symbols.position(), end)) == null) {
+            final String key = StandardCharsets.UTF_8.decode(symbols.duplicate()).toString();
+            unit = parseWhole(key);
+            if (cache != null) {
+                cache.put(key, unit);
+            }
+        }
+        symbols.position(end);
+        return unit;
+    }
+
+    /**
+     * Parses the given text, which shall contain only unit symbols and white spaces.
+     * This is the implementation of {@link #parse(CharSequence)} without cache.
+     *
+     * @param  symbols  the unit symbols or URI to parse.
+     * @return the unit parsed from the specified symbols.
+     * @throws MeasurementParseException if a problem occurred while parsing the given symbols.
+     */
+    private Unit<?> parseWhole(final CharSequence symbols) throws MeasurementParseException {
         final Position position = new Position();
         Unit<?> unit = parse(symbols, position);
         final int length = symbols.length();
@@ -1103,7 +1424,7 @@ appPow: if (unit == null) {
          */
         int end   = symbols.length();
         int start = CharSequences.skipLeadingWhitespaces(symbols, position.getIndex(), end);
-        if (PARSE_AUTHORITY_CODES) {
+        if (PARSE_AUTHORITY_CODES && contains(symbols, DefinitionURI.SEPARATOR, start, end)) {
             final String uom = symbols.toString();
             final String code = DefinitionURI.codeOf("EPSG", uom);
             if (code != null) {
@@ -1618,6 +1939,7 @@ search:     while ((i = CharSequences.skipTrailingWhitespaces(symbols, start, i)
         try {
             f.setFinalField("unitToLabel", unitToLabel);
             f.setFinalField("labelToUnit", labelToUnit);
+            f.parseCache = null;
         } catch (ReflectiveOperationException e) {
             throw (InaccessibleObjectException) new InaccessibleObjectException().initCause(e);
         }
@@ -16,10 +16,10 @@
 package tech.uom.seshat;
 
 import java.util.Objects;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashMap;
+import java.util.TreeMap;
 import java.util.HashSet;
 import java.io.Serializable;
 import javax.measure.Unit;
@@ -28,7 +28,7 @@ import javax.measure.Dimension;
 import javax.measure.format.MeasurementParseException;
 import javax.measure.spi.SystemOfUnits;
 import tech.uom.seshat.math.Fraction;
-import tech.uom.seshat.util.WeakValueHashMap;
+import tech.uom.seshat.util.ConcurrentWeakValueMap;
 
 
 /**
@@ -37,7 +37,7 @@ import tech.uom.seshat.util.WeakValueHashMap;
  * rather uses the static methods directly since we define all units in terms of SI.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 final class UnitRegistry implements SystemOfUnits, Serializable {
@@ -85,7 +85,8 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
     /**
      * All {@link UnitDimension}, {@link SystemUnit} or {@link ConventionalUnit} that are hard-coded in Seshat.
      * This map is populated by {@link Units} static initializer and shall not be modified after initialization,
-     * in order to avoid the need for synchronization. Key and value types are restricted to the following pairs:
+     * in order to avoid the need for synchronization. After initialization, lookups use the {@link #frozen} tables.
+     * Key and value types are restricted to the following pairs:
      *
      * <table class="sis">
      *   <caption>Key and value types</caption>
@@ -100,7 +101,7 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
     private static final Map<Object,Object> HARD_CODED = new HashMap<>(256);
 
     /**
-     * Units defined by the user. Accesses to this map implies synchronization.
+     * Units defined by the user. Accesses to this map are concurrent and lookups never block.
      * Values are stored by weak references and garbage collected when no longer used.
      * Key and value types are the same than the one described in {@link #HARD_CODED}.
      *
@@ -109,7 +110,86 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
      * large, using weak references for them is useless, and most applications will not define any custom values.
      * This map will typically stay empty.</div>
      */
-    private static final WeakValueHashMap<Object,Object> USER_DEFINED = new WeakValueHashMap<>(Object.class);
+    private static final ConcurrentWeakValueMap<Object,Object> USER_DEFINED = new ConcurrentWeakValueMap<>();
+
+    /**
+     * Immutable copies of {@link #HARD_CODED} specialized by key type, or {@code null} if not yet created.
+     * Created by {@link #freeze()} at the end of {@link Units} class initialization.
+     * This field is volatile for safe publication to threads that did not initialize {@code Units}.
+     */
+    private static volatile Frozen frozen;
+
+    /**
+     * Immutable copy of the {@link #HARD_CODED} map, separated in tables specialized by key type.
+     * Symbols are stored in a table of their own, so that their lookups do not compare them with
+     * keys of other types. EPSG codes are stored in a dense array indexed by the code, for lookups
+     * without boxing or search. Hard-coded codes are in the 1024 … 9203 range, so this array is small.
+     */
+    private static final class Frozen {
+        /** Values for keys of type {@link String}. */
+        final Map<String,Object> symbols;
+
+        /** The smallest EPSG code, which is the code of the unit at index 0 of {@link #units}. */
+        final int firstCode;
+
+        /** Units indexed by their EPSG code minus {@link #firstCode}, with {@code null} for unused codes. */
+        final Unit<?>[] units;
+
+        /** Values for all other types of keys. */
+        final Map<Object,Object> others;
+
+        /** Creates a copy of the {@link #HARD_CODED} map. */
+        Frozen() {
+            final Map<String,Object> symbols = new HashMap<>(256);
+            final Map<Object,Object> others  = new HashMap<>(256);
+            final TreeMap<Short,Unit<?>> epsg = new TreeMap<>();
+            for (final Map.Entry<Object,Object> entry : HARD_CODED.entrySet()) {
+                final Object key = entry.getKey();
+                if (key instanceof String) {
+                    symbols.put((String) key, entry.getValue());
+                } else if (key instanceof Short) {
+                    epsg.put((Short) key, (Unit<?>) entry.getValue());
+                } else {
+                    others.put(key, entry.getValue());
+                }
+            }
+            if (epsg.isEmpty()) {
+                firstCode = 0;
+                units = new Unit<?>[0];
+            } else {
+                firstCode = epsg.firstKey();
+                units = new Unit<?>[epsg.lastKey() - firstCode + 1];
+                for (final Map.Entry<Short,Unit<?>> entry : epsg.entrySet()) {
+                    units[entry.getKey() - firstCode] = entry.getValue();
+                }
+            }
+            this.symbols = Map.copyOf(symbols);
+            this.others  = Map.copyOf(others);
+        }
+
+        /** Returns the hard-coded unit for the given EPSG code, or {@code null} if none. */
+        final Unit<?> epsg(final int code) {
+            final int i = code - firstCode;
+            return (i >= 0 && i < units.length) ? units[i] : null;
+        }
+
+        /** Returns the value associated to the given key, or {@code null} if none. */
+        final Object get(final Object key) {
+            if (key instanceof String) return symbols.get(key);
+            if (key instanceof Short)  return epsg((Short) key);
+            return others.get(key);
+        }
+    }
+
+    /**
+     * Creates the immutable tables used for lookups after the {@link Units} class initialization.
+     * This method shall be invoked in a single thread by the {@code Units} class initializer only,
+     * after all hard-coded units have been registered.
+     */
+    static void freeze() {
+        assert !Units.initialized;
+        frozen = new Frozen();
+    }
 
     /**
      * Adds the given {@code components}, {@code dim} pair in the map of hard-coded values.
@@ -185,7 +265,8 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
      */
     static Object putIfAbsent(final Object key, final Object value) {
         assert Units.initialized : value;
-        Object previous = HARD_CODED.get(key);
+        final Frozen f = frozen;
+        Object previous = (f != null) ? f.get(key) : HARD_CODED.get(key);
         if (previous == null) {
             previous = USER_DEFINED.putIfAbsent(key, value);
         }
@@ -197,13 +278,26 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
      * This method can be invoked at anytime (at {@link Units} class initialization time or not).
      */
     static Object get(final Object key) {
-        Object value = HARD_CODED.get(key);     // Treated as immutable, no synchronization needed.
+        final Frozen f = frozen;
+        Object value = (f != null) ? f.get(key) : HARD_CODED.get(key);     // Treated as immutable, no synchronization needed.
         if (value == null) {
-            value = USER_DEFINED.get(key);      // Implies a synchronization lock.
+            value = USER_DEFINED.get(key);      // Concurrent map, no lock.
         }
         return value;
     }
 
+    /**
+     * Returns the hard-coded unit for the given EPSG code, or {@code null} if none.
+     * After {@link Units} class initialization, this method does not allocate objects.
+     */
+    static Unit<?> getEPSG(final int code) {
+        final Frozen f = frozen;
+        if (f != null) {
+            return f.epsg(code);
+        }
+        return (code > 0 && code <= Short.MAX_VALUE) ? (Unit<?>) get((short) code) : null;
+    }
+
     /**
      * Name of this system of units.
      */
@@ -216,9 +310,11 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
     private final int includes;
 
     /**
-     * The value returned by {@link #getUnits()}, created when first needed.
+     * The units of this system indexed by dimension and quantity type, created when first needed.
+     * This index is immutable and computed only once, since hard-coded units do not change
+     * after {@link Units} class initialization.
      */
-    private transient Set<Unit<?>> units;
+    private transient volatile Index index;
 
     /**
      * Creates a new unit system.
@@ -263,44 +359,92 @@ final class UnitRegistry implements SystemOfUnits, Serializable {
     }
 
     /**
-     * Returns a read only view over the units explicitly defined by this system.
-     * This include the base and derived units which are assigned a special name and symbol.
-     * This set does not include new units created by arithmetic or other operations.
+     * Immutable sets of units defined by a system, together with subsets indexed by dimension and quantity type.
      */
-    @Override
-    @SuppressWarnings("ReturnOfCollectionOrArrayField")
-    public Set<Unit<?>> getUnits() {
-        if (Units.initialized) {                    // Force Units class initialization.
-            synchronized (this) {
-                if (units == null) {
-                    units = new HashSet<>();
-                    for (final Object value : HARD_CODED.values()) {
-                        if (value instanceof AbstractUnit<?>) {
-                            final AbstractUnit<?> unit = (AbstractUnit<?>) value;
-                            if ((unit.scope & includes) != 0) {
-                                units.add(unit);
-                            }
+    private static final class Index {
+        /** All units explicitly defined by the system. */
+        final Set<Unit<?>> units;
+
+        /** Units of the system indexed by their dimension. */
+        final Map<Dimension, Set<Unit<?>>> byDimension;
+
+        /** Units of the system indexed by the type of quantity that they measure. */
+        final Map<Class<?>, Set<Unit<?>>> byQuantity;
+
+        /** Creates the index for the units having at least one of the given scope bits. */
+        Index(final int includes) {
+            final Set<Unit<?>> all = new HashSet<>();
+            final Map<Dimension, Set<Unit<?>>> dimensions = new HashMap<>();
+            final Map<Class<?>,  Set<Unit<?>>> quantities = new HashMap<>();
+            for (final Object value : HARD_CODED.values()) {
+                if (value instanceof AbstractUnit<?>) {
+                    final AbstractUnit<?> unit = (AbstractUnit<?>) value;
+                    if ((unit.scope & includes) != 0 && all.add(unit)) {
+                        dimensions.computeIfAbsent(unit.getDimension(), (k) -> new HashSet<>()).add(unit);
+                        final Class<?> quantity = unit.getSystemUnit().quantity;
+                        if (quantity != null) {
+                            quantities.computeIfAbsent(quantity, (k) -> new HashSet<>()).add(unit);
                         }
                     }
-                    units = Collections.unmodifiableSet(units);
+                }
+            }
+            units       = Set.copyOf(all);
+            byDimension = copyOf(dimensions);
+            byQuantity  = copyOf(quantities);
+        }
+
+        /** Returns an immutable copy of the given map with immutable sets as values. */
+        private static <K> Map<K, Set<Unit<?>>> copyOf(final Map<K, Set<Unit<?>>> map) {
+            map.replaceAll((k, units) -> Set.copyOf(units));
+            return Map.copyOf(map);
+        }
+    }
+
+    /**
+     * Returns the index of units in this system, creating it when first needed.
+     */
+    private Index index() {
+        Index i = index;
+        if (i == null && Units.initialized) {       // Force Units class initialization.
+            synchronized (this) {
+                i = index;
+                if (i == null) {
+                    index = i = new Index(includes);
                 }
             }
         }
-        return units;
+        return i;
+    }
+
+    /**
+     * Returns a read only view over the units explicitly defined by this system.
+     * This include the base and derived units which are assigned a special name and symbol.
+     * This set does not include new units created by arithmetic or other operations.
+     */
+    @Override
+    public Set<Unit<?>> getUnits() {
+        return index().units;
     }
 
     /**
      * Returns the units defined in this system having the specified dimension, or an empty set if none.
+     * The returned set is unmodifiable and shared between all callers.
      */
     @Override
     public Set<Unit<?>> getUnits(final Dimension dimension) {
         Objects.requireNonNull(dimension);
-        final Set<Unit<?>> filtered = new HashSet<>();
-        for (final Unit<?> unit : getUnits()) {
-            if (dimension.equals(unit.getDimension())) {
-                filtered.add(unit);
-            }
-        }
-        return filtered;
+        return index().byDimension.getOrDefault(dimension, Set.of());
+    }
+
+    /**
+     * Returns the units defined in this system for the specified type of quantity, or an empty set if none.
+     * The returned set is unmodifiable and shared between all callers.
+     *
+     * @param  type  the type of quantity for which to get the units.
+     * @return units of this system for the given type of quantity.
+     */
+    public Set<Unit<?>> getUnits(final Class<? extends Quantity<?>> type) {
+        Objects.requireNonNull(type);
+        return index().byQuantity.getOrDefault(type, Set.of());
     }
 }
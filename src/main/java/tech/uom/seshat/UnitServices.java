@@ -22,7 +22,6 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
-import java.text.NumberFormat;
 import javax.measure.Unit;
 import javax.measure.Quantity;
 import javax.measure.format.UnitFormat;
@@ -43,7 +42,7 @@ import tech.uom.seshat.resources.Errors;
  * without direct dependency. A {@code UnitServices} instance can be obtained by call to {@link #current()}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 public class UnitServices extends ServiceProvider implements SystemOfUnitsService, FormatService {
@@ -142,12 +141,16 @@ public class UnitServices extends ServiceProvider implements SystemOfUnitsServic
      * The format style is {@link tech.uom.seshat.UnitFormat.Style#SYMBOL}.
      * This style requires support for Unicode characters;
      * for example square metres are formatted as “m²”, not “m2”.
+     * The returned format is a shared unmodifiable instance.
      *
      * @return a {@link tech.uom.seshat.UnitFormat} instance for unit symbols.
+     *
+     * @see tech.uom.seshat.UnitFormat#getInstance(Locale, tech.uom.seshat.UnitFormat.Style)
      */
     @Override
     public UnitFormat getUnitFormat() {
-        return new tech.uom.seshat.UnitFormat(Locale.getDefault(Locale.Category.FORMAT));
+        return tech.uom.seshat.UnitFormat.getInstance(Locale.getDefault(Locale.Category.FORMAT),
+                                                      tech.uom.seshat.UnitFormat.Style.SYMBOL);
     }
 
     /**
@@ -163,27 +166,35 @@ public class UnitServices extends ServiceProvider implements SystemOfUnitsServic
      *   <tr><td>NAME</td>      <td>kilometre, cubic metre, metres per second</td></tr>
      * </table>
      *
-     * The {@code "NAME"} format is locale-sensitive. The format locale can be modified by a call
-     * to {@link tech.uom.seshat.UnitFormat#setLocale(Locale)} on the returned object.
+     * The {@code "NAME"} format is locale-sensitive. The returned format is a shared unmodifiable instance
+     * for the default locale. For using another locale, invoke {@link tech.uom.seshat.UnitFormat#setLocale(Locale)}
+     * on a {@linkplain tech.uom.seshat.UnitFormat#clone() clone} of the returned object.
      *
      * @param  name the name of the desired format.
      * @return the corresponding unit format, or {@code null} if none.
      */
     @Override
-    public UnitFormat getUnitFormat(String name) {
+    public UnitFormat getUnitFormat(final String name) {
         final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
-        name = name.toUpperCase(locale).trim();
-        final tech.uom.seshat.UnitFormat.Style style;
+        final tech.uom.seshat.UnitFormat.Style style = style(name, locale);
+        return (style != null) ? tech.uom.seshat.UnitFormat.getInstance(locale, style) : null;
+    }
+
+    /**
+     * Returns the format style for the given name, or {@code null} if none.
+     *
+     * @param  name    the name of the desired format.
+     * @param  locale  the locale to use for converting the name to upper case.
+     * @return the format style for the given name, or {@code null} if none.
+     */
+    private static tech.uom.seshat.UnitFormat.Style style(final String name, final Locale locale) {
         try {
-            style = tech.uom.seshat.UnitFormat.Style.valueOf(name);
+            return tech.uom.seshat.UnitFormat.Style.valueOf(name.toUpperCase(locale).trim());
         } catch (IllegalArgumentException e) {
             // JSR-385 specification mandate that we return null.
             Errors.getLogger().log(System.Logger.Level.DEBUG, e);
             return null;
         }
-        tech.uom.seshat.UnitFormat f = new tech.uom.seshat.UnitFormat(locale);
-        f.setStyle(style);
-        return f;
     }
 
     /**
@@ -203,13 +214,17 @@ public class UnitServices extends ServiceProvider implements SystemOfUnitsServic
 
     /**
      * Returns a quantity format for the default locale.
+     * The returned format is a shared unmodifiable instance.
      *
      * @return a {@link tech.uom.seshat.QuantityFormat} instance for quantities.
      * @since  1.2
+     *
+     * @see tech.uom.seshat.QuantityFormat#getInstance(Locale, tech.uom.seshat.UnitFormat.Style)
      */
     @Override
     public QuantityFormat getQuantityFormat() {
-        return new tech.uom.seshat.QuantityFormat(Locale.getDefault(Locale.Category.FORMAT));
+        return tech.uom.seshat.QuantityFormat.getInstance(Locale.getDefault(Locale.Category.FORMAT),
+                                                          tech.uom.seshat.UnitFormat.Style.SYMBOL);
     }
 
     /**
@@ -222,12 +237,9 @@ public class UnitServices extends ServiceProvider implements SystemOfUnitsServic
      */
     @Override
     public QuantityFormat getQuantityFormat(final String name) {
-        final UnitFormat unitFormat = getUnitFormat(name);
-        if (unitFormat instanceof tech.uom.seshat.UnitFormat) {
-            return new tech.uom.seshat.QuantityFormat(NumberFormat.getInstance(),
-                        (tech.uom.seshat.UnitFormat) unitFormat);
-        }
-        return null;
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        final tech.uom.seshat.UnitFormat.Style style = style(name, locale);
+        return (style != null) ? tech.uom.seshat.QuantityFormat.getInstance(locale, style) : null;
     }
 
     /**
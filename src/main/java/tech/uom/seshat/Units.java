@@ -16,6 +16,11 @@
 package tech.uom.seshat;
 
 import java.util.OptionalInt;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.Dimension;
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
@@ -70,7 +75,7 @@ import static tech.uom.seshat.UnitRegistry.PREFIXABLE;
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
  * @author  Alexis Manin (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 public final class Units {
@@ -1021,17 +1026,17 @@ public final class Units {
         /*
          * Base, derived or alternate units that we need to reuse more than once in this static initializer.
          */
-        final SystemUnit<Length>        m    = add(Length.class,        Scalar.Length::new,         length,        "m",    (byte) (SI | PREFIXABLE), (short) 9001);
-        final SystemUnit<Area>          m2   = add(Area.class,          Scalar.Area::new,           area,          "m²",   (byte) (SI | PREFIXABLE), (short) 0);
-        final SystemUnit<Volume>        m3   = add(Volume.class,        Scalar.Volume::new,         length.pow(3), "m³",   (byte) (SI | PREFIXABLE), (short) 0);
-        final SystemUnit<Time>          s    = add(Time.class,          Scalar.Time::new,           time,          "s",    (byte) (SI | PREFIXABLE), (short) 1040);
-        final SystemUnit<Temperature>   K    = add(Temperature.class,   Scalar.Temperature.FACTORY, temperature,   "K",    (byte) (SI | PREFIXABLE), (short) 0);
-        final SystemUnit<Speed>         mps  = add(Speed.class,         Scalar.Speed::new,          speed,         "m∕s",  (byte) (SI | PREFIXABLE), (short) 1026);
-        final SystemUnit<Acceleration>  mps2 = add(Acceleration.class,  Scalar.Acceleration::new,   acceleration,  "m∕s²", (byte) (SI | PREFIXABLE), (short) 0);
-        final SystemUnit<Pressure>      Pa   = add(Pressure.class,      Scalar.Pressure::new,       pressure,      "Pa",   (byte) (SI | PREFIXABLE), (short) 0);
-        final SystemUnit<Angle>         rad  = add(Angle.class,         Scalar.Angle::new,          dimensionless, "rad",  (byte) (SI | PREFIXABLE), (short) 9101);
-        final SystemUnit<Dimensionless> one  = add(Dimensionless.class, Scalar.Dimensionless::new,  dimensionless, "",             SI,               (short) 9201);
-        final SystemUnit<Mass>          kg   = add(Mass.class,          Scalar.Mass::new,           mass,          "kg",           SI,               (short) 0);
+        final SystemUnit<Length>        m    = add(Length.class,        Scalar.Length.FACTORY,        length,        "m",    (byte) (SI | PREFIXABLE), (short) 9001);
+        final SystemUnit<Area>          m2   = add(Area.class,          Scalar.Area.FACTORY,          area,          "m²",   (byte) (SI | PREFIXABLE), (short) 0);
+        final SystemUnit<Volume>        m3   = add(Volume.class,        Scalar.Volume.FACTORY,        length.pow(3), "m³",   (byte) (SI | PREFIXABLE), (short) 0);
+        final SystemUnit<Time>          s    = add(Time.class,          Scalar.Time.FACTORY,          time,          "s",    (byte) (SI | PREFIXABLE), (short) 1040);
+        final SystemUnit<Temperature>   K    = add(Temperature.class,   Scalar.Temperature.FACTORY,   temperature,   "K",    (byte) (SI | PREFIXABLE), (short) 0);
+        final SystemUnit<Speed>         mps  = add(Speed.class,         Scalar.Speed.FACTORY,         speed,         "m∕s",  (byte) (SI | PREFIXABLE), (short) 1026);
+        final SystemUnit<Acceleration>  mps2 = add(Acceleration.class,  Scalar.Acceleration.FACTORY,  acceleration,  "m∕s²", (byte) (SI | PREFIXABLE), (short) 0);
+        final SystemUnit<Pressure>      Pa   = add(Pressure.class,      Scalar.Pressure.FACTORY,      pressure,      "Pa",   (byte) (SI | PREFIXABLE), (short) 0);
+        final SystemUnit<Angle>         rad  = add(Angle.class,         Scalar.Angle.FACTORY,         dimensionless, "rad",  (byte) (SI | PREFIXABLE), (short) 9101);
+        final SystemUnit<Dimensionless> one  = add(Dimensionless.class, Scalar.Dimensionless.FACTORY, dimensionless, "",             SI,               (short) 9201);
+        final SystemUnit<Mass>          kg   = add(Mass.class,          Scalar.Mass.FACTORY,          mass,          "kg",           SI,               (short) 0);
         /*
          * All SI prefix to be used below, with additional converters to be used more than once.
          */
@@ -1122,10 +1127,10 @@ public final class Units {
          * Force, energy, electricity, magnetism and other units.
          * Frequency must be defined after angular velocities.
          */
-        HERTZ      = add(Frequency.class,           Scalar.Frequency::new, frequency,                    "Hz",  (byte) (SI | PREFIXABLE), (short) 0);
-        NEWTON     = add(Force.class,               Scalar.Force::new,     force,                        "N",   (byte) (SI | PREFIXABLE), (short) 0);
-        JOULE      = add(Energy.class,              Scalar.Energy::new,    energy,                       "J",   (byte) (SI | PREFIXABLE), (short) 0);
-        WATT       = add(Power.class,               Scalar.Power::new,     power,                        "W",   (byte) (SI | PREFIXABLE), (short) 0);
+        HERTZ      = add(Frequency.class,           Scalar.Frequency.FACTORY, frequency,                    "Hz",  (byte) (SI | PREFIXABLE), (short) 0);
+        NEWTON     = add(Force.class,               Scalar.Force.FACTORY,     force,                        "N",   (byte) (SI | PREFIXABLE), (short) 0);
+        JOULE      = add(Energy.class,              Scalar.Energy.FACTORY,    energy,                       "J",   (byte) (SI | PREFIXABLE), (short) 0);
+        WATT       = add(Power.class,               Scalar.Power.FACTORY,     power,                        "W",   (byte) (SI | PREFIXABLE), (short) 0);
         AMPERE     = add(ElectricCurrent.class,     null,                  current,                      "A",   (byte) (SI | PREFIXABLE), (short) 0);
         COULOMB    = add(ElectricCharge.class,      null,                  charge,                       "C",   (byte) (SI | PREFIXABLE), (short) 0);
         VOLT       = add(ElectricPotential.class,   null,                  potential,                    "V",   (byte) (SI | PREFIXABLE), (short) 0);
@@ -1144,7 +1149,7 @@ public final class Units {
          * All Unit<Dimensionless>.
          */
         ConventionalUnit<Dimensionless> bel;
-        PIXEL   = add(Dimensionless.class, Scalar.Dimensionless::new, dimensionless, "px",    OTHER, (short) 0);
+        PIXEL   = add(Dimensionless.class, Scalar.Dimensionless.FACTORY, dimensionless, "px",    OTHER, (short) 0);
         PERCENT = add(one, centi,                                                    "%",     OTHER, (short) 0);
         PPM     = add(one, micro,                                                    "ppm",   OTHER, (short) 9202);
         bel     = add(one, PowerOf10.belToOne(), "B", (byte) (ACCEPTED | PREFIXABLE), (short) 0);
@@ -1165,6 +1170,7 @@ public final class Units {
         UnitRegistry.alias(LITRE,       "l");
         UnitRegistry.alias(LITRE,       "ℓ");
         UnitRegistry.alias(UNITY, SystemUnit.ONE);
+        UnitRegistry.freeze();
 
         initialized = true;
     }
@@ -1502,6 +1508,212 @@ public final class Units {
         return AbstractConverter.derivative(converter, value);
     }
 
+    /**
+     * Converts a sequence of values from the source array and stores the results in the destination array.
+     * Invoking this method is equivalent to invoking {@link UnitConverter#convert(double)} for each value,
+     * but is more efficient when the given converter is a Seshat implementation.
+     * The source and destination arrays may be the same, in which case the conversion can be done in-place.
+     *
+     * <p>If the converter is a Seshat implementation, values that cannot be converted are replaced by NaN
+     * instead of causing an exception to be thrown. For example, a sexagesimal value with a minutes field
+     * equal or greater than 60 is converted to NaN, so that a single malformed value in a batch of
+     * coordinates does not prevent the conversion of other values.</p>
+     *
+     * <div class="note"><b>Example:</b>
+     * converting all values of an array from feet to metres in-place:
+     *
+     * {@snippet lang="java" :
+     *     UnitConverter c = Units.FOOT.getConverterTo(Units.METRE);
+     *     Units.convert(c, values, 0, values, 0, values.length);
+     *     }
+     * </div>
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  src        the source array of values to convert.
+     * @param  srcOff     index of the first value to convert in the source array.
+     * @param  dst        the destination array where to store converted values.
+     * @param  dstOff     index where to store the first converted value in the destination array.
+     * @param  len        number of values to convert.
+     * @throws IndexOutOfBoundsException if a range is outside the bounds of the source or destination array.
+     *
+     * @since 1.4
+     */
+    public static void convert(final UnitConverter converter, final double[] src, final int srcOff,
+                               final double[] dst, final int dstOff, final int len)
+    {
+        AbstractConverter.convert(converter, src, srcOff, dst, dstOff, len);
+    }
+
+    /**
+     * Converts a sequence of single-precision values from the source array and stores the results in the
+     * destination array. Each conversion is performed in {@code double} precision on the exact value of
+     * the {@code float} source, and the result is rounded to {@code float} only once.
+     * The source and destination arrays may be the same, in which case the conversion can be done in-place.
+     *
+     * <h4>Accuracy</h4>
+     * Contrarily to {@link UnitConverter#convert(Number)} with a {@link Float} argument, this method does not
+     * interpret the {@code float} values as if they were written in base 10. The result is the correctly rounded
+     * conversion of the exact binary value. This is usually identical to the result of {@code convert(Float)},
+     * but may differ significantly when an offset cancels most of the value. For example, converting 273.16 K
+     * to degrees Celsius gives 0.0100036… with this method but 0.01 with {@code convert(Float)}.
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  src        the source array of values to convert.
+     * @param  srcOff     index of the first value to convert in the source array.
+     * @param  dst        the destination array where to store converted values.
+     * @param  dstOff     index where to store the first converted value in the destination array.
+     * @param  len        number of values to convert.
+     * @throws IndexOutOfBoundsException if a range is outside the bounds of the source or destination array.
+     *
+     * @since 1.4
+     */
+    public static void convert(final UnitConverter converter, final float[] src, final int srcOff,
+                               final float[] dst, final int dstOff, final int len)
+    {
+        AbstractConverter.convert(converter, src, srcOff, dst, dstOff, len);
+    }
+
+    /**
+     * Converts in-place the values between the position and the limit of the given buffer.
+     * The buffer position and limit are not modified. This method works directly on the buffer content,
+     * without copy in the Java heap, which makes it suitable for direct and memory-mapped buffers.
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  values     the buffer of values to convert in-place.
+     * @throws java.nio.ReadOnlyBufferException if the given buffer is read-only.
+     *
+     * @since 1.4
+     */
+    public static void convert(final UnitConverter converter, final DoubleBuffer values) {
+        AbstractConverter.convert(converter, values);
+    }
+
+    /**
+     * Converts in-place the single-precision values between the position and the limit of the given buffer.
+     * The buffer position and limit are not modified. Conversions are performed in {@code double} precision
+     * and rounded to {@code float} once, as documented in {@link #convert(UnitConverter, float[], int, float[],
+     * int, int)}.
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  values     the buffer of values to convert in-place.
+     * @throws java.nio.ReadOnlyBufferException if the given buffer is read-only.
+     *
+     * @since 1.4
+     */
+    public static void convert(final UnitConverter converter, final FloatBuffer values) {
+        AbstractConverter.convert(converter, values);
+    }
+
+    /**
+     * Converts in-place {@code double} values stored at a regular interval in a raw byte buffer.
+     * The value at index <var>i</var> is stored in the 8 bytes starting at {@code offset + i*stride},
+     * in the given byte order. The buffer position, limit and byte order are not modified.
+     *
+     * <div class="note"><b>Example:</b>
+     * a memory-mapped file containing records of (<var>x</var>, <var>y</var>, <var>z</var>) coordinates
+     * as big-endian {@code double} values can have its <var>z</var> values converted from feet to metres with
+     * {@code convertDoubles(converter, buffer, ByteOrder.BIG_ENDIAN, 16, 24, numRecords)}.</div>
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  buffer     the buffer of values to convert in-place.
+     * @param  order      the byte order of the values in the buffer.
+     * @param  offset     index of the first byte of the first value to convert.
+     * @param  stride     number of bytes between the beginning of two consecutive values. Shall be at least 8.
+     * @param  count      number of values to convert.
+     * @throws IllegalArgumentException if {@code stride} is less than 8 or {@code count} is negative.
+     * @throws IndexOutOfBoundsException if {@code offset} is negative or a value would be beyond the buffer limit.
+     * @throws java.nio.ReadOnlyBufferException if the given buffer is read-only.
+     *
+     * @since 1.4
+     */
+    public static void convertDoubles(final UnitConverter converter, final ByteBuffer buffer, final ByteOrder order,
+                                      final int offset, final int stride, final int count)
+    {
+        AbstractConverter.convert(converter, buffer, order, offset, stride, count, false);
+    }
+
+    /**
+     * Converts in-place {@code float} values stored at a regular interval in a raw byte buffer.
+     * The value at index <var>i</var> is stored in the 4 bytes starting at {@code offset + i*stride},
+     * in the given byte order. The buffer position, limit and byte order are not modified.
+     * Conversions are performed in {@code double} precision and rounded to {@code float} once.
+     *
+     * @param  converter  the converter to apply on each value.
+     * @param  buffer     the buffer of values to convert in-place.
+     * @param  order      the byte order of the values in the buffer.
+     * @param  offset     index of the first byte of the first value to convert.
+     * @param  stride     number of bytes between the beginning of two consecutive values. Shall be at least 4.
+     * @param  count      number of values to convert.
+     * @throws IllegalArgumentException if {@code stride} is less than 4 or {@code count} is negative.
+     * @throws IndexOutOfBoundsException if {@code offset} is negative or a value would be beyond the buffer limit.
+     * @throws java.nio.ReadOnlyBufferException if the given buffer is read-only.
+     *
+     * @since 1.4
+     */
+    public static void convertFloats(final UnitConverter converter, final ByteBuffer buffer, final ByteOrder order,
+                                     final int offset, final int stride, final int count)
+    {
+        AbstractConverter.convert(converter, buffer, order, offset, stride, count, true);
+    }
+
+    /**
+     * Returns a function applying the same conversion than the given converter on {@code double} values.
+     * For Seshat implementations, the returned function does not delegate to the converter but applies
+     * a fused version of all conversion steps, with the coefficients of linear steps captured as constants.
+     * The result can be inlined by the JIT compiler as a whole, which makes it suitable for hot loops
+     * where the converters of many different units are used.
+     *
+     * <div class="note"><b>Example:</b>
+     * {@snippet lang="java" :
+     *     DoubleUnaryOperator toRadians = Units.toOperator(Units.valueOf("DMS").getConverterTo(Units.RADIAN));
+     *     for (int i=0; i<angles.length; i++) {
+     *         angles[i] = toRadians.applyAsDouble(angles[i]);
+     *     }
+     *     }
+     * </div>
+     *
+     * For foreigner implementations, this method returns a reference to {@link UnitConverter#convert(double)}.
+     *
+     * @param  converter  the converter for which to get a function.
+     * @return a function applying the conversion on {@code double} values.
+     *
+     * @since 1.4
+     */
+    public static DoubleUnaryOperator toOperator(final UnitConverter converter) {
+        return AbstractConverter.toOperator(converter);
+    }
+
+    /**
+     * Returns a converter applying the same conversion than the given converter, but favoring speed over accuracy.
+     * Seshat linear converters compute <var>y</var> = (<var>x</var>⋅<var>scale</var> + <var>offset</var>) ∕
+     * <var>divisor</var> where the coefficients are often integers, because conversion factors are usually exact
+     * in base 10 but not in base 2. The converter returned by this method pre-computes
+     * <var>scale</var> ∕ <var>divisor</var> and <var>offset</var> ∕ <var>divisor</var>,
+     * which replaces a division by a cheaper multiplication for each converted value.
+     *
+     * <h4>Accuracy</h4>
+     * For conversions without offset, the results of the fast converter are within 1.5 ULP
+     * (units in the last place) of the mathematically exact result, and differ from the results of
+     * the given converter by at most 2 ULP. In the more common cases, the difference is zero or 1 ULP.
+     * For conversions with an offset (for example from degrees Celsius to kelvins), the error bound
+     * is relative to the magnitude of the largest term of the sum instead of relative to the result.
+     * Consequently, the relative error can be large for results close to zero.
+     * The exact decimal conversions of values such as 200 metres to US survey feet and back
+     * are not guaranteed anymore.
+     *
+     * <p>Only the linear steps of Seshat converters are modified. Other steps, and converters
+     * that are not Seshat implementations, are returned unchanged. The {@linkplain UnitConverter#inverse() inverse}
+     * of the returned converter is also in fast mode, but concatenations with other converters are not.</p>
+     *
+     * @param  converter  the converter for which to get a faster variant.
+     * @return a converter which may be faster but less accurate than the given converter.
+     *
+     * @since 1.4
+     */
+    public static UnitConverter fastMath(final UnitConverter converter) {
+        return AbstractConverter.fastMath(converter);
+    }
+
     /**
      * Parses the given symbol. Invoking this method is equivalent to invoking
      * {@link UnitFormat#parse(CharSequence)} on a shared locale-independent instance.
@@ -1608,7 +1820,7 @@ public final class Units {
             case 9203: // Fall through
             case 9201: return UNITY;
             default: {
-                return (code > 0 && code <= Short.MAX_VALUE) ? (Unit<?>) UnitRegistry.get((short) code) : null;
+                return UnitRegistry.getEPSG(code);
             }
         }
     }
@@ -1622,19 +1834,57 @@ public final class Units {
      *
      * @since 1.1
      */
-    public static OptionalInt getEpsgCode(Unit<?> unit) {
-        if (unit != null) {
-            if (!(unit instanceof AbstractUnit<?>)) {
-                unit = get(unit.getSymbol());
-                if (!(unit instanceof AbstractUnit<?>)) {
-                    return OptionalInt.empty();
-                }
-            }
-            short code = ((AbstractUnit<?>) unit).epsg;
-            if (code != 0) {
-                return OptionalInt.of(code);
-            }
+    public static OptionalInt getEpsgCode(final Unit<?> unit) {
+        final int code = epsg(unit);
+        return (code != 0) ? OptionalInt.of(code) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the EPSG code of the given unit, or 0 if unknown.
+     * This is the implementation of {@link #getEpsgCode(Unit)} and {@link #getEpsgCodes(Unit[])}.
+     */
+    private static int epsg(Unit<?> unit) {
+        if (unit != null && !(unit instanceof AbstractUnit<?>)) {
+            final String symbol = unit.getSymbol();             // Fallback for foreigner implementations.
+            unit = (symbol != null) ? get(symbol) : null;
+        }
+        return (unit instanceof AbstractUnit<?>) ? ((AbstractUnit<?>) unit).epsg : 0;
+    }
+
+    /**
+     * Returns the units for all the given EPSG codes.
+     * This is equivalent to invoking {@link #valueOfEPSG(int)} for each code, but in a single call.
+     * After {@code Units} class initialization, each resolution is an array lookup without allocation.
+     *
+     * @param  codes  the EPSG codes for units of measurement.
+     * @return the units for the codes at the same index, with {@code null} elements for unrecognized codes.
+     *
+     * @since 1.4
+     */
+    public static Unit<?>[] valueOfEPSG(final int[] codes) {
+        final Unit<?>[] units = new Unit<?>[codes.length];
+        for (int i=0; i<codes.length; i++) {
+            units[i] = valueOfEPSG(codes[i]);
+        }
+        return units;
+    }
+
+    /**
+     * Returns the EPSG codes of all the given units.
+     * This is equivalent to invoking {@link #getEpsgCode(Unit)} for each unit, but in a single call
+     * and without {@link OptionalInt} wrappers. Unknown codes are represented by 0, which is not
+     * a valid EPSG code.
+     *
+     * @param  units  the units for which to get the EPSG codes. May contain null elements.
+     * @return the EPSG codes of the units at the same index, or 0 for units without known code.
+     *
+     * @since 1.4
+     */
+    public static int[] getEpsgCodes(final Unit<?>[] units) {
+        final int[] codes = new int[units.length];
+        for (int i=0; i<units.length; i++) {
+            codes[i] = epsg(units[i]);
         }
-        return OptionalInt.empty();
+        return codes;
     }
 }
@@ -25,7 +25,7 @@ import tech.uom.seshat.util.WeakHashSet;
  * All {@code Fraction} instances are immutable and thus inherently thread-safe.
  *
  * @author  Martin Desruisseaux (MPO, Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 public final class Fraction extends Number implements Comparable<Fraction>, Serializable {
@@ -35,9 +35,36 @@ public final class Fraction extends Number implements Comparable<Fraction>, Seri
     private static final long serialVersionUID = -4501644254763471216L;
 
     /**
-     * Pool of fractions for which the {@link #unique()} method has been invoked.
+     * Range of numerator values (inclusive) and maximal denominator value for the fractions
+     * which are preallocated in the {@link #SMALL} table.
      */
-    private static final WeakHashSet<Fraction> POOL = new WeakHashSet<>(Fraction.class);
+    private static final int MIN_SMALL_NUMERATOR = -9, MAX_SMALL_NUMERATOR = 9, MAX_SMALL_DENOMINATOR = 3;
+
+    /**
+     * Preallocated fractions for the common exponents of unit dimensions, which are small integers or
+     * simple fractions like ½ or ⅓. Those fractions are returned by {@link #unique()} and by arithmetic
+     * operations without allocation and without the synchronization cost of the {@linkplain Pool pool}.
+     *
+     * @see #small(long, long)
+     */
+    private static final Fraction[] SMALL;
+    static {
+        final int width = MAX_SMALL_NUMERATOR - MIN_SMALL_NUMERATOR + 1;
+        SMALL = new Fraction[width * MAX_SMALL_DENOMINATOR];
+        for (int den = 1; den <= MAX_SMALL_DENOMINATOR; den++) {
+            for (int num = MIN_SMALL_NUMERATOR; num <= MAX_SMALL_NUMERATOR; num++) {
+                SMALL[(den - 1) * width + (num - MIN_SMALL_NUMERATOR)] = new Fraction(num, den);
+            }
+        }
+    }
+
+    /**
+     * Pool of fractions for which the {@link #unique()} method has been invoked, for values not in the
+     * {@link #SMALL} table. This is a separated class for creating the pool only if needed.
+     */
+    private static final class Pool {
+        static final WeakHashSet<Fraction> POOL = new WeakHashSet<>(Fraction.class);
+    }
 
     /**
      * The <var>a</var> term in the <var>a</var>/<var>b</var> fraction.
@@ -73,7 +100,8 @@ public final class Fraction extends Number implements Comparable<Fraction>, Seri
      * If this method has been invoked previously on another {@code Fraction} with the same value than {@code this},
      * then that previous instance is returned (provided that it has not yet been garbage collected). Otherwise this
      * method adds this fraction to the pool of fractions that may be returned in next {@code unique()} invocations,
-     * then returns {@code this}.
+     * then returns {@code this}. Fractions with small numerator and denominator, as commonly used for
+     * exponents of unit dimensions, are taken from a preallocated table without the need for a pool.
      *
      * <p>This method is useful for saving memory when a potentially large amount of {@code Fraction} instances will
      * be kept for a long time and many instances are likely to have the same values.
@@ -82,7 +110,19 @@ public final class Fraction extends Number implements Comparable<Fraction>, Seri
      * @return a unique instance of a fraction equals to {@code this}.
      */
     public Fraction unique() {
-        return POOL.unique(this);
+        final Fraction f = small(numerator, denominator);
+        return (f != null) ? f : Pool.POOL.unique(this);
+    }
+
+    /**
+     * Returns the preallocated fraction for the given numerator and denominator, or {@code null} if none.
+     * Numerator and denominator are compared exactly, without simplification.
+     */
+    private static Fraction small(final long num, final long den) {
+        if (num >= MIN_SMALL_NUMERATOR && num <= MAX_SMALL_NUMERATOR && den >= 1 && den <= MAX_SMALL_DENOMINATOR) {
+            return SMALL[(int) ((den - 1) * (MAX_SMALL_NUMERATOR - MIN_SMALL_NUMERATOR + 1) + (num - MIN_SMALL_NUMERATOR))];
+        }
+        return null;
     }
 
     /**
@@ -147,8 +187,11 @@ public final class Fraction extends Number implements Comparable<Fraction>, Seri
                 }
             }
         }
-        return (num == numerator && den == denominator) ? this
-               : new Fraction(Math.toIntExact(num), Math.toIntExact(den));
+        if (num == numerator && den == denominator) {
+            return this;
+        }
+        final Fraction f = small(num, den);
+        return (f != null) ? f : new Fraction(Math.toIntExact(num), Math.toIntExact(den));
     }
 
     /**
@@ -168,7 +211,8 @@ public final class Fraction extends Number implements Comparable<Fraction>, Seri
         } else {
             return this;
         }
-        return new Fraction(n, d);
+        final Fraction f = small(n, d);
+        return (f != null) ? f : new Fraction(n, d);
     }
 
     /**
@@ -142,6 +142,11 @@ public class Errors extends IndexedResourceBundle {
          */
         public static final short NotAnInteger_1 = 14;
 
+        /**
+         * Range of values ends at byte {1}, which is beyond the buffer limit {0}.
+         */
+        public static final short RangeBeyondLimit_2 = 22;
+
         /**
          * The “{1}” characters after “{0}” were unexpected.
          */
@@ -152,6 +157,11 @@ public class Errors extends IndexedResourceBundle {
          */
         public static final short UnknownUnit_1 = 16;
 
+        /**
+         * Object ‘{0}’ is unmodifiable.
+         */
+        public static final short UnmodifiableObject_1 = 21;
+
         /**
          * Can not handle this instance of ‘{0}’ because arbitrary implementations are not yet
          * supported.
@@ -0,0 +1,326 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.lang.ref.WeakReference;
+
+
+/**
+ * A concurrent map implementation that uses {@linkplain WeakReference weak references} to values.
+ * This class provides the same functionality than {@link WeakValueHashMap}, but without global lock:
+ * the entries are stored in a {@link ConcurrentHashMap}, so {@link #get(Object)} never blocks and
+ * write operations on different keys can be executed in parallel.
+ *
+ * <p>Entries are removed by the same {@link ReferenceQueueConsumer} thread than other weak references
+ * of the Seshat library, after their values have been garbage-collected. Until that removal happen,
+ * an entry with a collected value is considered absent by all methods except {@link #size()}.</p>
+ *
+ * <h2>When to use</h2>
+ * This class should be preferred over {@link WeakValueHashMap} for maps which are read often by many threads,
+ * for example registries of units. {@code WeakValueHashMap} is more compact and allows callers to synchronize
+ * on the map for making sequences of method calls atomic, which is not supported by this class.
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ *
+ * @param <K>  the class of key elements.
+ * @param <V>  the class of value elements.
+ *
+ * @see WeakValueHashMap
+ */
+public final class ConcurrentWeakValueMap<K,V> extends AbstractMap<K,V> {
+    /**
+     * An entry in the {@link ConcurrentWeakValueMap}. This is a weak reference to a value.
+     * The key is also stored for allowing the removal of this entry after the value has
+     * been garbage-collected.
+     */
+    private final class Entry extends WeakEntry<V> {
+        /**
+         * The key.
+         */
+        final K key;
+
+        /**
+         * Constructs a new weak reference.
+         */
+        Entry(final K key, final V value) {
+            super(value, null, key.hashCode() & HASH_MASK);
+            this.key = key;
+        }
+
+        /**
+         * Invoked by {@link ReferenceQueueConsumer} for removing the reference from the enclosing map.
+         * The removal is conditional, since another entry may have been associated to the key since.
+         */
+        @Override
+        public void dispose() {
+            super.clear();
+            entries.remove(key, this);
+        }
+    }
+
+    /**
+     * The entries, which may contain references to values that have been garbage-collected.
+     */
+    private final ConcurrentHashMap<K,Entry> entries;
+
+    /**
+     * Creates a new {@code ConcurrentWeakValueMap}.
+     */
+    public ConcurrentWeakValueMap() {
+        entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * This count may include entries for values that have been garbage-collected,
+     * but not yet removed by the background thread.
+     *
+     * @return the number of entries in this map.
+     */
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified key.
+     * Null keys are considered never present.
+     *
+     * @param  key  key whose presence in this map is to be tested.
+     * @return {@code true} if this map contains a mapping for the specified key.
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the value to which this map maps the specified key.
+     * Returns {@code null} if the map contains no mapping for this key.
+     * Null keys are considered never present. This method does not block.
+     *
+     * @param  key  key whose associated value is to be returned.
+     * @return the value to which this map maps the specified key.
+     */
+    @Override
+    public V get(final Object key) {
+        if (key != null) {
+            final Entry e = entries.get(key);
+            if (e != null) {
+                return e.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * The value is associated using a {@link WeakReference}.
+     *
+     * @param  key    key with which the specified value is to be associated.
+     * @param  value  value to be associated with the specified key.
+     * @return the previous value associated with specified key, or {@code null} if there was no mapping for the key.
+     * @throws NullPointerException if the key or the value is {@code null}.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        final Entry old = entries.put(key, new Entry(key, Objects.requireNonNull(value)));
+        if (old != null) {
+            final V previous = old.get();
+            old.clear();
+            return previous;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map if no value were previously associated.
+     * If another value is already associated to the given key, then the map is left unchanged and the current
+     * value is returned. Otherwise the specified value is associated to the key using a {@link WeakReference}
+     * and {@code null} is returned.
+     *
+     * @param  key    key with which the specified value is to be associated.
+     * @param  value  value to be associated with the specified key.
+     * @return the current value associated with specified key, or {@code null} if there was no mapping for the key.
+     * @throws NullPointerException if the key or the value is {@code null}.
+     */
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        final Entry entry = new Entry(key, Objects.requireNonNull(value));
+        for (;;) {
+            final Entry old = entries.putIfAbsent(key, entry);
+            if (old == null) {
+                return null;
+            }
+            final V current = old.get();
+            if (current != null) {
+                return current;
+            }
+            // The old value has been garbage-collected but the entry has not yet been removed.
+            if (entries.replace(key, old, entry)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Replaces the entry for the specified key only if it is currently mapped to some value.
+     *
+     * @param  key    key with which the specified value is to be associated.
+     * @param  value  value to be associated with the specified key.
+     * @return the previous value associated with specified key, or {@code null} if there was no mapping for the key.
+     * @throws NullPointerException if the value is {@code null}.
+     */
+    @Override
+    public V replace(final K key, final V value) {
+        Objects.requireNonNull(value);
+        if (key != null) {
+            Entry old;
+            while ((old = entries.get(key)) != null) {
+                final V previous = old.get();
+                if (previous == null) break;
+                if (entries.replace(key, old, new Entry(key, value))) {
+                    old.clear();
+                    return previous;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the entry for the specified key only if currently mapped to the specified value.
+     *
+     * @param  key       key with which the specified value is to be associated.
+     * @param  oldValue  value expected to be associated with the specified key.
+     * @param  newValue  value to be associated with the specified key.
+     * @return {@code true} if the value was replaced.
+     * @throws NullPointerException if the new value is {@code null}.
+     */
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        Objects.requireNonNull(newValue);
+        if (key != null && oldValue != null) {
+            final Entry old = entries.get(key);
+            if (old != null && oldValue.equals(old.get())) {
+                if (entries.replace(key, old, new Entry(key, newValue))) {
+                    old.clear();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the mapping for this key from this map if present.
+     *
+     * @param  key  key whose mapping is to be removed from the map.
+     * @return previous value associated with specified key, or {@code null} if there was no entry for the key.
+     */
+    @Override
+    public V remove(final Object key) {
+        if (key != null) {
+            final Entry old = entries.remove(key);
+            if (old != null) {
+                final V previous = old.get();
+                old.clear();
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry for the specified key only if it is currently mapped to the specified value.
+     *
+     * @param  key    key whose mapping is to be removed from the map.
+     * @param  value  value expected to be associated with the specified key.
+     * @return {@code true} if the value was removed.
+     */
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        if (key != null && value != null) {
+            final Entry old = entries.get(key);
+            if (old != null && value.equals(old.get())) {
+                if (entries.remove(key, old)) {
+                    old.clear();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all of the elements from this map.
+     */
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a set view of the mappings contained in this map.
+     * Each element in this set is a {@link java.util.Map.Entry}.
+     *
+     * @return a set view of the mappings contained in this map.
+     */
+    @Override
+    public Set<Map.Entry<K,V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * The set of entries. Iterators are created over a snapshot of the entries having a value
+     * not yet garbage-collected. That snapshot contains strong references to the values.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+        /**
+         * Returns the number of entries in the map.
+         */
+        @Override
+        public int size() {
+            return ConcurrentWeakValueMap.this.size();
+        }
+
+        /**
+         * Returns an iterator over a snapshot of the entries in the map. No element from
+         * this set will be garbage collected as long as a reference to the iterator is hold.
+         */
+        @Override
+        public Iterator<Map.Entry<K,V>> iterator() {
+            final List<Map.Entry<K,V>> snapshot = new ArrayList<>(entries.size());
+            for (final Entry e : entries.values()) {
+                final V value = e.get();
+                if (value != null) {
+                    snapshot.add(new SimpleImmutableEntry<>(e.key, value));
+                }
+            }
+            return snapshot.iterator();
+        }
+    }
+}
@@ -30,7 +30,7 @@ import static org.junit.Assert.*;
  * but those methods just delegate to {@link ConventionalUnit#create(AbstractUnit, UnitConverter)}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class ConventionalUnitTest {
@@ -211,6 +211,47 @@ public final strictfp class ConventionalUnitTest {
         assertEquals("0°C",   32, c.inverse().convert(0), STRICT);
     }
 
+    /**
+     * Verifies that converters between the same pair of units are cached.
+     *
+     * @throws IncommensurableException if {@link Unit#getConverterToAny(Unit)} failed.
+     */
+    @Test
+    public void testConverterCache() throws IncommensurableException {
+        final UnitConverter c = Units.FAHRENHEIT.getConverterTo(Units.CELSIUS);
+        assertSame(c, Units.FAHRENHEIT.getConverterTo(Units.CELSIUS));
+        assertSame(c, Units.FAHRENHEIT.getConverterToAny(Units.CELSIUS));
+        assertEquals(c.inverse(), Units.CELSIUS.getConverterTo(Units.FAHRENHEIT));
+        /*
+         * A user-defined target unit shall be recognized by identity, not by equality.
+         */
+        final Unit<?> feet = Units.METRE.multiply(0.3048);
+        final UnitConverter f = Units.KILOMETRE.getConverterToAny(feet);
+        assertSame(f, Units.KILOMETRE.getConverterToAny(feet));
+        assertEquals(1000 / 0.3048, f.convert(1), 1E-9);
+    }
+
+    /**
+     * Verifies that repeated arithmetic operations on units return the cached instances.
+     */
+    @Test
+    public void testOperationCache() {
+        final Unit<?> product = Units.FOOT.multiply(Units.SECOND);
+        assertSame(product, Units.FOOT.multiply(Units.SECOND));
+        assertSame(Units.FOOT.divide(Units.KELVIN), Units.FOOT.divide(Units.KELVIN));
+        assertSame(Units.FOOT.pow(3), Units.FOOT.pow(3));
+        assertSame(Units.METRE.multiply(Units.KELVIN), Units.METRE.multiply(Units.KELVIN));
+        /*
+         * Converters given to `transform(…)` are compared by equality,
+         * so a new converter equal to the previous one gives the cached unit.
+         */
+        final LinearConverter c1 = LinearConverter.scale(3, 1);
+        final LinearConverter c2 = new LinearConverter(3, 0, 1);
+        assertNotSame(c1, c2);
+        final Unit<?> scaled = Units.METRE.transform(c1);
+        assertSame(scaled, Units.METRE.transform(c2));
+    }
+
     /**
      * Verifies that the given units derived from litres ({@code u1}) is equivalent to the given units derived
      * from cubic metres ({@code u2}). The conversion between those two units is expected to be identity.
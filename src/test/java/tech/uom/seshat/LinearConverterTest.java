@@ -27,7 +27,7 @@ import static org.junit.Assert.*;
  * Tests the {@link LinearConverter} class.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class LinearConverterTest {
@@ -78,6 +78,26 @@ public final strictfp class LinearConverterTest {
         assertScale(10, 3, LinearConverter.pow(c, 3, true));
     }
 
+    /**
+     * Tests {@link LinearConverter#pow10(int)} and the combination of powers of 10 by addition of exponents.
+     */
+    @Test
+    public void testPow10() {
+        assertScale(1000, 1, LinearConverter.pow10( 3));
+        assertScale(1, 1000, LinearConverter.pow10(-3));
+        assertTrue(LinearConverter.pow10(3).concatenate(LinearConverter.pow10(-3)).isIdentity());
+        assertScale(1, 100, (AbstractConverter) LinearConverter.pow10(-3).concatenate(LinearConverter.pow10(1)));
+
+        AbstractConverter c = (AbstractConverter) LinearConverter.pow10(21).concatenate(LinearConverter.pow10(3));
+        assertEquals(1E24, c.coefficients()[1].doubleValue(), STRICT);
+        assertEquals(LinearConverter.pow10(-24), LinearConverter.pow(LinearConverter.pow10(-8), 3, false));
+        assertEquals(LinearConverter.pow10(-4),  LinearConverter.pow(LinearConverter.pow10(-8), 2, true));
+        /*
+         * Conversion of BigDecimal shall be exact, without division.
+         */
+        assertEquals(new BigDecimal("1.2345"), LinearConverter.pow10(-3).convert(new BigDecimal("1234.5")));
+    }
+
     /**
      * Tests the {@link LinearConverter#isIdentity()} and {@link LinearConverter#isLinear()} methods.
      * This also indirectly test the {@link LinearConverter#offset(double, double)} and
@@ -131,6 +151,94 @@ public final strictfp class LinearConverterTest {
         assertEquals(300.16, c.convert(27.01), STRICT);                 // Really want STRICT; see above comment
     }
 
+    /**
+     * Tests {@link LinearConverter#convert(double[], int, double[], int, int)},
+     * including in-place conversion in overlapping regions of the same array.
+     */
+    @Test
+    public void testConvertArray() {
+        final LinearConverter c = LinearConverter.offset(27315, 100);   // Celsius to kelvin
+        final double[] src = {-1, 27.01, 0, 100, -273.15};
+        final double[] dst = new double[src.length + 2];
+        c.convert(src, 1, dst, 2, 3);
+        assertArrayEquals(new double[] {0, 0, 300.16, 273.15, 373.15, 0, 0}, dst, STRICT);
+
+        final double[] values = {27.01, 0, 100, 26.85, 5};
+        c.convert(values, 0, values, 1, 4);                             // Overlapping with destination after source.
+        assertArrayEquals(new double[] {27.01, 300.16, 273.15, 373.15, 300}, values, STRICT);
+        ((AbstractConverter) c.inverse()).convert(values, 1, values, 0, 4);
+        assertArrayEquals(new double[] {27.01, 0, 100, 26.85, 300}, values, 1E-13);
+
+        IdentityConverter.INSTANCE.convert(values, 0, values, 1, 4);
+        assertArrayEquals(new double[] {27.01, 27.01, 0, 100, 26.85}, values, 1E-13);
+    }
+
+    /**
+     * Tests {@link LinearConverter#convert(float[], int, float[], int, int)}.
+     * The results shall be the values computed in double precision, rounded once to {@code float}.
+     */
+    @Test
+    public void testConvertFloatArray() {
+        final LinearConverter c = LinearConverter.scale(1200, 3937);    // US survey feet to metres
+        final float[] values = {656.16666f, 1, -3937, 0.1f};
+        final float[] expected = new float[values.length];
+        for (int i=0; i<values.length; i++) {
+            expected[i] = (float) c.convert((double) values[i]);
+        }
+        c.convert(values, 0, values, 0, values.length);
+        assertArrayEquals(expected, values, (float) STRICT);
+        assertEquals(-1200, values[2], (float) STRICT);
+        /*
+         * Concatenation with a non-linear converter shall also round only once.
+         */
+        final AbstractConverter cc = new ConcatenatedConverter(c, c.inverse());
+        cc.convert(values, 0, values, 1, 3);
+        assertArrayEquals(new float[] {expected[0], expected[0], expected[1], -1200}, values, 1E-3f);
+    }
+
+    /**
+     * Tests {@link Units#fastMath(UnitConverter)}. The results shall be within 2 ULP of the exact mode.
+     */
+    @Test
+    public void testFastMath() {
+        final LinearConverter c = LinearConverter.scale(1200, 3937);    // US survey feet to metres
+        final UnitConverter fast = Units.fastMath(c);
+        assertNotSame(c, fast);
+        assertSame(fast, Units.fastMath(fast));
+        for (int i=-1000; i<=1000; i++) {
+            final double x = i * 0.37;
+            final double expected = c.convert(x);
+            assertEquals(expected, fast.convert(x), 2 * Math.ulp(expected));
+        }
+        assertSame(IdentityConverter.INSTANCE, Units.fastMath(IdentityConverter.INSTANCE));
+    }
+
+    /**
+     * Tests the inverse of a converter returned by {@link Units#fastMath(UnitConverter)}.
+     * The inverse shall also be in fast mode, i.e. shall not need a division.
+     */
+    @Test
+    public void testFastMathInverse() {
+        final LinearConverter c = LinearConverter.scale(1200, 3937);    // US survey feet to metres
+        final UnitConverter fast = Units.fastMath(c);
+        final UnitConverter back = fast.inverse();
+        assertSame(back, Units.fastMath(back));
+        assertSame(fast, back.inverse());
+        assertArrayEquals(new Number[] {0, 3937.0 / 1200}, ((LinearConverter) back).coefficients());
+        for (int i=-1000; i<=1000; i++) {
+            final double x = i * 0.37;
+            final double expected = c.inverse().convert(x);
+            assertEquals(expected, back.convert(x), 2 * Math.ulp(expected));
+        }
+        /*
+         * A converter without divisor may still have a divisor in its inverse.
+         */
+        final LinearConverter k = new LinearConverter(0.3048, 0, 1);    // Feet to metres
+        final UnitConverter kf = Units.fastMath(k);
+        assertArrayEquals(new Number[] {0, 1 / 0.3048}, ((LinearConverter) kf.inverse()).coefficients());
+        assertSame(kf, Units.fastMath(kf));
+    }
+
     /**
      * Tests {@link LinearConverter#convert(Number)} with a value of type {@link Float}.
      */
@@ -25,7 +25,7 @@ import static org.junit.Assert.*;
  * Tests the {@link Prefixes} class.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class PrefixesTest {
@@ -133,6 +133,8 @@ public final strictfp class PrefixesTest {
         assertEquals( "m²", 1,    Units.toStandardUnit(Prefixes.getUnit( "m²")), STRICT);
         assertEquals("km",  1E+3, Units.toStandardUnit(Prefixes.getUnit("km" )), STRICT);
         assertEquals("km²", 1E+6, Units.toStandardUnit(Prefixes.getUnit("km²")), STRICT);
+        assertSame  ("hPa", Prefixes.getUnit("hPa"), Prefixes.getUnit("hPa"));
+        assertSame  ("µs",  Prefixes.getUnit("µs"),  Prefixes.getUnit("µs"));
     }
 
     /**
@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link QuantityFormat}.
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ * @since   1.4
+ */
+public final strictfp class QuantityFormatTest {
+    private static final double STRICT = 0;
+
+    /**
+     * Tests {@link QuantityFormat#parseColumn(Readable, javax.measure.Unit, java.util.function.ObjIntConsumer)}
+     * with a mix of valid lines, blank lines and invalid lines.
+     *
+     * @throws IOException should never happen since we read from a string.
+     */
+    @Test
+    public void testParseColumn() throws IOException {
+        final QuantityFormat f = QuantityFormat.getInstance(Locale.US, UnitFormat.Style.SYMBOL);
+        final List<Integer> errors = new ArrayList<>();
+        final double[] values = f.parseColumn(new StringReader(
+                "12.5 km\n" +
+                "300 m\r\n" +
+                "\n" +
+                "-0.25km\n" +
+                "1,500 cm\n" +
+                "foo\n" +
+                "3 s\n" +
+                "1E3 m"), Units.METRE, (e, row) -> errors.add(row));
+
+        assertArrayEquals(new double[] {12500, 300, -250, 15, Double.NaN, Double.NaN, 1000}, values, STRICT);
+        assertEquals(List.of(6, 7), errors);          // Line numbers, counting blank lines.
+        /*
+         * Same parsing from a character buffer ending with a line separator.
+         */
+        assertArrayEquals(new double[] {0.1, 2000}, f.parseColumn(CharBuffer.wrap("100 mm\n2 km\n"),
+                Units.METRE, (e, row) -> fail(e.toString())), STRICT);
+    }
+
+    /**
+     * Tests {@link QuantityFormat#parseColumn(Readable, javax.measure.Unit, java.util.function.ObjIntConsumer)}
+     * in a locale where the grouping separator is the same space than {@link QuantityFormat#SEPARATOR}.
+     * The quantities formatted by {@link QuantityFormat} shall be parsed back.
+     *
+     * @throws IOException should never happen since we read from a string.
+     */
+    @Test
+    public void testParseColumnWithGroupingSpace() throws IOException {
+        final QuantityFormat f = QuantityFormat.getInstance(Locale.FRANCE, UnitFormat.Style.SYMBOL);
+        final String text = f.format(Quantities.create(12.5, Units.KILOMETRE)) + '\n'
+                          + f.format(Quantities.create(300,  Units.METRE))     + '\n'
+                          + "1\u202F500" + QuantityFormat.SEPARATOR + "cm";
+        assertEquals("12,5" + QuantityFormat.SEPARATOR + "km", text.substring(0, text.indexOf('\n')));
+        assertArrayEquals(new double[] {12500, 300, 15}, f.parseColumn(new StringReader(text),
+                Units.METRE, (e, row) -> fail(e.toString())), STRICT);
+    }
+
+    /**
+     * Tests that values with many digits are parsed with the same accuracy as {@link Double#parseDouble(String)}.
+     *
+     * @throws IOException should never happen since we read from a string.
+     */
+    @Test
+    public void testParseColumnAccuracy() throws IOException {
+        final String[] numbers = {"0.1", "0.3", "123.456", "9007199254740993", "0.000001", "12345678901234567890.5"};
+        final QuantityFormat f = QuantityFormat.getInstance(Locale.US, UnitFormat.Style.SYMBOL);
+        final double[] values = f.parseColumn(new StringReader(String.join(" m\n", numbers) + " m"),
+                Units.METRE, (e, row) -> fail(e.toString()));
+        for (int i=0; i<numbers.length; i++) {
+            assertEquals(numbers[i], Double.parseDouble(numbers[i]), values[i], STRICT);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package tech.uom.seshat;
 
+import java.util.function.DoubleUnaryOperator;
 import javax.measure.Unit;
 import javax.measure.Quantity;
 import javax.measure.UnitConverter;
@@ -28,7 +29,7 @@ import static org.junit.Assert.*;
  * Test the {@link SexagesimalConverter} class.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.1
  */
 public final strictfp class SexagesimalConverterTest {
@@ -91,6 +92,75 @@ public final strictfp class SexagesimalConverterTest {
         checkConversion(44.505590277777777, Units.DEGREE, 443020.125, DMS_SCALED);
     }
 
+    /**
+     * Tests {@link Units#convert(UnitConverter, double[], int, double[], int, int)} on a chain of converters
+     * involving {@link SexagesimalConverter}. The conversion is done in-place.
+     */
+    @Test
+    public void testConvertArray() {
+        final UnitConverter converter = DMS.getConverterTo(Units.DEGREE);
+        final double[] values = {10.0000, 10.0036, 10.3000, 10.5924, 44.3020125};
+        Units.convert(converter, values, 0, values, 0, values.length);
+        assertArrayEquals(new double[] {10.00, 10.01, 10.50, 10.99, 44.505590277777777}, values, TOLERANCE);
+        Units.convert(converter.inverse(), values, 0, values, 0, values.length);
+        assertArrayEquals(new double[] {10.0000, 10.0036, 10.3000, 10.5924, 44.3020125}, values, TOLERANCE);
+    }
+
+    /**
+     * Tests bulk conversions of sexagesimal values having an illegal minutes field.
+     * Illegal values shall be converted to NaN without interrupting the conversion of other values.
+     */
+    @Test
+    public void testConvertArrayWithIllegalValues() {
+        final UnitConverter converter = DMS.getConverterTo(Units.DEGREE);
+        final double[] values = {10.3000, 10.7000, 10.0036};
+        Units.convert(converter, values, 0, values, 0, values.length);
+        assertArrayEquals(new double[] {10.50, Double.NaN, 10.01}, values, TOLERANCE);
+
+        final float[] floats = {10.3f, -10.7f, 10.6f};
+        Units.convert(converter, floats, 0, floats, 0, floats.length);
+        assertArrayEquals(new float[] {10.5f, Float.NaN, Float.NaN}, floats, 1E-5f);
+    }
+
+    /**
+     * Tests {@link Units#toOperator(UnitConverter)} on chains of converters involving {@link SexagesimalConverter}.
+     * The fused operators shall give the same results than the converters, without tolerance.
+     */
+    @Test
+    public void testToOperator() {
+        final UnitConverter converter = DMS.getConverterTo(Units.RADIAN);
+        final UnitConverter inverse   = converter.inverse();
+        final DoubleUnaryOperator op  = Units.toOperator(converter);
+        final DoubleUnaryOperator inv = Units.toOperator(inverse);
+        for (final double value : new double[] {10.0000, 10.0036, -10.3000, 10.5924, 44.3020125}) {
+            final double radians = converter.convert(value);
+            assertEquals(radians, op.applyAsDouble(value), STRICT);
+            assertEquals(inverse.convert(radians), inv.applyAsDouble(radians), STRICT);
+        }
+        final DoubleUnaryOperator linear = Units.toOperator(Units.FOOT.getConverterTo(Units.KILOMETRE));
+        assertEquals(0.3048, linear.applyAsDouble(1000), STRICT);
+    }
+
+    /**
+     * Tests the normalization of chains of converters done by {@link ConcatenatedConverter#create(UnitConverter, UnitConverter)}.
+     * Linear steps shall be merged and inverse steps shall be cancelled, including in the middle of the chain.
+     */
+    @Test
+    public void testConcatenate() {
+        final UnitConverter c = DMS.getConverterTo(Units.RADIAN);
+        assertEquals(2, c.getConversionSteps().size());
+        assertEquals(2, LinearConverter.scale(10, 1).concatenate(c).getConversionSteps().size());
+        assertEquals(3, c.concatenate(LinearConverter.scale(10, 1)).getConversionSteps().size());
+        assertTrue(c.inverse().concatenate(c).isIdentity());
+        /*
+         * Insert a non-linear step (power of 10) followed by its inverse between the DMS converter and its inverse.
+         */
+        final UnitConverter b = PowerOf10.belToOne();
+        final UnitConverter chain = c.inverse().concatenate(b.inverse()).concatenate(b).concatenate(c);
+        assertTrue(chain.toString(), chain.isIdentity());
+        assertEquals(c, c.concatenate(b.inverse()).concatenate(b));
+    }
+
     /**
      * Tests the error message on attempt to convert an illegal value.
      */
@@ -17,6 +17,10 @@ package tech.uom.seshat;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import javax.measure.Unit;
 import javax.measure.Dimension;
 import tech.uom.seshat.math.Fraction;
@@ -29,7 +33,7 @@ import static org.junit.Assert.*;
  * Tests the {@link UnitDimension} class.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class UnitDimensionTest {
@@ -142,6 +146,27 @@ public final strictfp class UnitDimensionTest {
         assertEquals(expected, FORCE.getBaseDimensions());
     }
 
+    /**
+     * Tests operations on dimensions which can be computed from the packed exponents,
+     * and operations which need to fallback on the map of components.
+     */
+    @Test
+    public void testSignature() {
+        assertSame("SPEED",  SPEED,  LENGTH.divide(TIME));
+        assertSame("SPEED",  SPEED,  LENGTH.divide(TIME));                  // Same query from the cache.
+        assertSame("FORCE",  FORCE,  MASS.multiply(LENGTH).divide(TIME.pow(2)));
+        assertSame("LENGTH", LENGTH, AREA.multiply(VOLUME).root(5));
+        assertSame("DIMENSIONLESS", DIMENSIONLESS, SPEED.divide(SPEED));
+        /*
+         * An exponent of 1/5 cannot be packed. The map of components shall be used instead.
+         */
+        final Dimension r = LENGTH.root(5);
+        assertEquals(Map.of(LENGTH, new Fraction(1,5)), ((UnitDimension) r).components);
+        assertSame("LENGTH", LENGTH, r.pow(5));
+        assertNotEquals(r, LENGTH.root(4));
+        assertEquals(r, LENGTH.root(5));
+    }
+
     /**
      * Tests the {@link UnitDimension#equals(Object)} and {@link UnitDimension#hashCode()} methods.
      */
@@ -160,6 +185,37 @@ public final strictfp class UnitDimensionTest {
         verifyEqualsAndHashCode("Mixed types",        false, Units.METRE,  Units.NEWTON);
     }
 
+    /**
+     * Tests serialization and deserialization. Deserialized dimensions shall be resolved to the unique instances.
+     *
+     * @throws Exception if an error occurred during serialization or deserialization.
+     */
+    @Test
+    public void testSerialization() throws Exception {
+        assertSame(LENGTH, serialize(LENGTH));
+        assertSame(TIME,   serialize(TIME));
+        assertSame(SPEED,  serialize(SPEED));
+        assertSame(FORCE,  serialize(FORCE));
+        assertEquals(SPEED.hashCode(), serialize(SPEED).hashCode());
+    }
+
+    /**
+     * Serializes the given object and returns the deserialized copy.
+     *
+     * @param  object  the object to serialize.
+     * @return the deserialized object.
+     * @throws Exception if an error occurred during serialization or deserialization.
+     */
+    static Object serialize(final Object object) throws Exception {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
     /**
      * Verifies that the test for equality between two dimensions produce the expected result.
      * This method expects {@link Unit} instances instead of {@link Dimension} for convenience,
@@ -18,6 +18,8 @@ package tech.uom.seshat;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Locale;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParsePosition;
 import java.lang.reflect.Field;
 import javax.measure.Unit;
@@ -34,7 +36,7 @@ import static org.junit.Assert.*;
  *
  * @author  Martin Desruisseaux (Geomatys)
  * @author  Alexis Manin (Geomatys)
- * @version 1.3
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class UnitFormatTest {
@@ -611,6 +613,94 @@ public final strictfp class UnitFormatTest {
         assertEquals("ParsePosition.getErrorIndex()", -1, pos.getErrorIndex());
     }
 
+    /**
+     * Tests the cache of parsed units, including its invalidation when a label is added.
+     */
+    @Test
+    public void testParseCache() {
+        final UnitFormat f = new UnitFormat(Locale.GERMANY);
+        assertFalse(f.isParseCacheEnabled());
+        assertEquals(0, f.getParseCacheMissCount());
+        f.setParseCacheEnabled(true);
+        final Unit<?> unit = f.parse("km h");
+        assertEquals(1, f.getParseCacheMissCount());
+        assertSame(unit, f.parse("km h"));
+        assertEquals(1, f.getParseCacheHitCount());
+        /*
+         * Formats without labels share the same cache.
+         */
+        final UnitFormat other = new UnitFormat(Locale.GERMANY);
+        other.setParseCacheEnabled(true);
+        assertSame(unit, other.parse("km h"));
+        assertEquals(2, f.getParseCacheHitCount());
+        /*
+         * Adding a label shall discard the cache, otherwise the previous unit would be returned.
+         */
+        f.label(Units.HECTARE, "km h");
+        assertEqualsIgnoreSymbol(Units.HECTARE, f.parse("km h"));
+        assertEquals(0, f.getParseCacheHitCount());
+        assertSame(unit, other.parse("km h"));
+    }
+
+    /**
+     * Tests {@link UnitFormat#parse(char[], int, int)} and {@link UnitFormat#parse(ByteBuffer)}.
+     * The second parsing of the same symbols shall be found in the cache.
+     */
+    @Test
+    public void testParseBuffers() {
+        final UnitFormat f = new UnitFormat(Locale.CANADA);
+        f.setParseCacheEnabled(true);
+        final char[] chars = "xx km/h yy".toCharArray();
+        final Unit<?> unit = f.parse(chars, 3, 4);
+        assertEquals(Units.KILOMETRES_PER_HOUR, unit);
+        assertSame(unit, f.parse(chars, 3, 4));
+        assertEquals(1, f.getParseCacheHitCount());
+
+        final ByteBuffer buffer = ByteBuffer.wrap("xx km/h".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(3);
+        assertSame(unit, f.parse(buffer));
+        assertEquals(7, buffer.position());
+        assertEquals(2, f.getParseCacheHitCount());
+        /*
+         * Non-ASCII characters are decoded as UTF-8 (2 bytes for '²' and 3 bytes for '∕').
+         * Only the first parsing of each symbol shall be a cache miss.
+         */
+        final byte[] bytes = "m²".getBytes(StandardCharsets.UTF_8);
+        assertSame(Units.SQUARE_METRE, f.parse(ByteBuffer.wrap(bytes)));
+        assertSame(Units.SQUARE_METRE, f.parse(ByteBuffer.wrap(bytes)));
+        assertSame(Units.SQUARE_METRE, f.parse(new char[] {'m', '²'}, 0, 2));
+        assertEquals(4, f.getParseCacheHitCount());
+
+        final byte[] speed = "m∕s".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Units.METRES_PER_SECOND, f.parse(ByteBuffer.wrap(speed)));
+        assertEquals(Units.METRES_PER_SECOND, f.parse(ByteBuffer.wrap(speed)));
+        assertEquals(5, f.getParseCacheHitCount());
+    }
+
+    /**
+     * Tests the cache of symbols formatted for units without symbol.
+     * The cached value shall be specific to the format style.
+     */
+    @Test
+    public void testFormatCache() {
+        final AbstractUnit<?> unit = (AbstractUnit<?>) Units.METRE.multiply(0.3048 * 3).multiply(Units.AMPERE);
+        assertNull(unit.getSymbol());
+        assertNull(unit.formatted(UnitFormat.Style.SYMBOL));
+        final UnitFormat f = new UnitFormat(Locale.ENGLISH);
+        assertEquals("0.9144⋅m⋅A", f.format(unit));
+        assertEquals("0.9144⋅m⋅A", unit.formatted(UnitFormat.Style.SYMBOL));
+        assertNull(unit.formatted(UnitFormat.Style.UCUM));
+        f.setStyle(UnitFormat.Style.UCUM);
+        assertEquals("0.9144.m.A", f.format(unit));
+        assertEquals("0.9144.m.A", unit.formatted(UnitFormat.Style.UCUM));
+        assertEquals("0.9144⋅m⋅A", unit.toString());
+        /*
+         * Labels have precedence over the cache.
+         */
+        f.label(unit, "yard_A");
+        assertEquals("yard_A", f.format(unit));
+    }
+
     /**
      * Tests {@link UnitFormat#clone()}.
      */
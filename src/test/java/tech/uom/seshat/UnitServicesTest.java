@@ -18,7 +18,10 @@ package tech.uom.seshat;
 import java.util.Set;
 import java.util.Locale;
 import javax.measure.Unit;
+import javax.measure.Quantity;
+import javax.measure.quantity.Angle;
 import javax.measure.format.UnitFormat;
+import javax.measure.format.QuantityFormat;
 import javax.measure.spi.FormatService;
 import javax.measure.spi.ServiceProvider;
 import org.junit.Test;
@@ -30,7 +33,7 @@ import static org.junit.Assert.*;
  * Test {@link UnitServices}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.0
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class UnitServicesTest {
@@ -109,6 +112,31 @@ public final strictfp class UnitServicesTest {
         assertFalse("GRAD",                 units.contains(Units.GRAD));
     }
 
+    /**
+     * Tests the units indexed by dimension and by quantity type.
+     */
+    @Test
+    public void testIndexes() {
+        final UnitRegistry system = (UnitRegistry) ServiceProvider.current().getSystemOfUnitsService().getSystemOfUnits("SI + accepted");
+        Set<Unit<?>> units = system.getUnits(Units.METRE.getDimension());
+        assertTrue ("METRE",             units.contains(Units.METRE));
+        assertTrue ("KILOMETRE",         units.contains(Units.KILOMETRE));
+        assertFalse("SECOND",            units.contains(Units.SECOND));
+        assertSame (units, system.getUnits(Units.KILOMETRE.getDimension()));
+
+        units = system.getUnits(Angle.class);
+        assertTrue ("RADIAN",            units.contains(Units.RADIAN));
+        assertTrue ("DEGREE",            units.contains(Units.DEGREE));
+        assertFalse("UNITY",             units.contains(Units.UNITY));
+        assertTrue (system.getUnits().containsAll(units));
+        try {
+            units.add(Units.METRE);
+            fail("Set shall be unmodifiable.");
+        } catch (UnsupportedOperationException e) {
+            // This is the expected exception.
+        }
+    }
+
     /**
      * Tests {@link UnitServices#getAvailableFormatNames(UnitServices.FormatType)}.
      */
@@ -126,8 +154,30 @@ public final strictfp class UnitServicesTest {
     @Test
     public void testGetUnitFormat() {
         final ServiceProvider provider = ServiceProvider.current();
-        final UnitFormat f = provider.getFormatService().getUnitFormat("name");
-        ((tech.uom.seshat.UnitFormat) f).setLocale(Locale.US);
+        final UnitFormat shared = provider.getFormatService().getUnitFormat("name");
+        assertSame(shared, provider.getFormatService().getUnitFormat("NAME"));
+        try {
+            ((tech.uom.seshat.UnitFormat) shared).setLocale(Locale.US);
+            fail("Shared format shall be unmodifiable.");
+        } catch (UnsupportedOperationException e) {
+            // This is the expected exception.
+        }
+        final tech.uom.seshat.UnitFormat f = ((tech.uom.seshat.UnitFormat) shared).clone();
+        f.setLocale(Locale.US);
         assertEquals("CUBIC_METRE", "cubic meter", f.format(Units.CUBIC_METRE));
     }
+
+    /**
+     * Tests {@link UnitServices#getQuantityFormat(String)}.
+     */
+    @Test
+    public void testGetQuantityFormat() {
+        final FormatService service = ServiceProvider.current().getFormatService();
+        final QuantityFormat f = service.getQuantityFormat("symbol");
+        assertSame(f, service.getQuantityFormat());
+        assertEquals("12\u202Fkm", f.format(Quantities.create(12, Units.KILOMETRE)));
+        final Quantity<?> q = f.parse("12 km");
+        assertEquals(12, q.getValue().doubleValue(), 0);
+        assertSame(Units.KILOMETRE, q.getUnit());
+    }
 }
@@ -16,8 +16,13 @@
 package tech.uom.seshat;
 
 import java.util.OptionalInt;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import javax.measure.Unit;
 import javax.measure.Quantity;
+import javax.measure.UnitConverter;
 import javax.measure.quantity.*;
 import javax.measure.quantity.Angle;
 import javax.measure.IncommensurableException;
@@ -32,7 +37,7 @@ import static org.junit.Assert.*;
  * Test conversions using the units declared in {@link Units}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 1.2
+ * @version 1.4
  * @since   1.0
  */
 public final strictfp class UnitsTest {
@@ -340,6 +345,84 @@ public final strictfp class UnitsTest {
         assertSame(DEGREE, valueOf("urn:ogc:def:uom:EPSG::9102"));
     }
 
+    /**
+     * Tests {@link Units#convert(UnitConverter, DoubleBuffer)} and {@link Units#convert(UnitConverter, FloatBuffer)}
+     * on direct buffers and on buffers backed by arrays.
+     */
+    @Test
+    public void testConvertBuffers() {
+        final DoubleBuffer doubles = ByteBuffer.allocateDirect(4 * Double.BYTES).asDoubleBuffer();
+        doubles.put(new double[] {10, 10.3, 44.3020125, 20}).position(1).limit(3);
+        Units.convert(DMS.getConverterTo(DEGREE), doubles);
+        assertEquals(1, doubles.position());
+        assertEquals(3, doubles.limit());
+        doubles.clear();
+        assertEquals(10,                 doubles.get(0), STRICT);
+        assertEquals(10.5,               doubles.get(1), 1E-12);
+        assertEquals(44.505590277777777, doubles.get(2), 1E-12);
+        assertEquals(20,                 doubles.get(3), STRICT);
+
+        final FloatBuffer floats = ByteBuffer.allocateDirect(3 * Float.BYTES).asFloatBuffer();
+        floats.put(new float[] {0, 27.01f, 100}).clear();
+        Units.convert(CELSIUS.getConverterTo(KELVIN), floats);
+        assertEquals(273.15f, floats.get(0), 0f);
+        assertEquals(300.16f, floats.get(1), 0f);
+        assertEquals(373.15f, floats.get(2), 0f);
+        /*
+         * Bulk conversion uses the exact binary value of 273.16f, which is not the decimal value
+         * used by convert(Float). The offset makes the difference much larger than one ULP.
+         */
+        final UnitConverter toCelsius = KELVIN.getConverterTo(CELSIUS);
+        floats.clear();
+        floats.put(0, 273.16f);
+        Units.convert(toCelsius, floats);
+        assertEquals((float) (273.16f - 273.15), floats.get(0), 0f);
+        assertEquals(0.01f, toCelsius.convert(Float.valueOf(273.16f)).floatValue(), 0f);
+        assertNotEquals(0.01f, floats.get(0), 1E-6f);
+
+        final DoubleBuffer wrapped = DoubleBuffer.wrap(new double[] {1, 2, 3});
+        Units.convert(KILOMETRE.getConverterTo(METRE), wrapped);
+        assertArrayEquals(new double[] {1000, 2000, 3000}, wrapped.array(), STRICT);
+    }
+
+    /**
+     * Tests {@link Units#convertDoubles(UnitConverter, ByteBuffer, ByteOrder, int, int, int)} and
+     * {@link Units#convertFloats(UnitConverter, ByteBuffer, ByteOrder, int, int, int)} on interleaved records.
+     */
+    @Test
+    public void testConvertByteBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(3 * 24).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i=0; i<9; i++) {
+            buffer.putDouble(i * Double.BYTES, i);
+        }
+        final UnitConverter c = FOOT.getConverterTo(METRE);
+        Units.convertDoubles(c, buffer, ByteOrder.LITTLE_ENDIAN, 16, 24, 3);       // Only the z values.
+        for (int i=0; i<9; i++) {
+            assertEquals((i % 3 == 2) ? i * 0.3048 : i, buffer.getDouble(i * Double.BYTES), 1E-12);
+        }
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+
+        buffer.order(ByteOrder.BIG_ENDIAN).putFloat(0, 1).putFloat(4, 2);
+        Units.convertFloats(KILOMETRE.getConverterTo(METRE), buffer, ByteOrder.BIG_ENDIAN, 0, 4, 2);
+        assertEquals(1000, buffer.getFloat(0), 0f);
+        assertEquals(2000, buffer.getFloat(4), 0f);
+        try {
+            Units.convertDoubles(c, buffer, ByteOrder.BIG_ENDIAN, 16, 24, 4);
+            fail("Expected IndexOutOfBoundsException.");
+        } catch (IndexOutOfBoundsException e) {
+            final String message = e.getMessage();
+            assertTrue(message, message.contains("96"));            // End of the range: 16 + 3*24 + 8.
+            assertTrue(message, message.contains("72"));            // Buffer limit.
+        }
+        try {
+            Units.convertDoubles(c, buffer, ByteOrder.BIG_ENDIAN, -8, 24, 1);
+            fail("Expected IndexOutOfBoundsException.");
+        } catch (IndexOutOfBoundsException e) {
+            final String message = e.getMessage();
+            assertTrue(message, message.contains("offset"));
+        }
+    }
+
     /**
      * Tests {@link Units#valueOfEPSG(int)} and {@link Units#valueOf(String)} with a {@code "EPSG:####"} syntax.
      */
@@ -366,6 +449,10 @@ public final strictfp class UnitsTest {
         assertSame(UNITY,          valueOfEPSG(9203));
         assertSame(UNITY,          valueOfEPSG(9201));
         assertSame(PPM,            valueOfEPSG(9202));
+        assertNull(valueOfEPSG(0));
+        assertNull(valueOfEPSG(-9001));
+        assertNull(valueOfEPSG(9000));
+        assertNull(valueOfEPSG(Short.MAX_VALUE + 9001));
     }
 
     /**
@@ -393,4 +480,32 @@ public final strictfp class UnitsTest {
         assertEquals(OptionalInt.of(9201), getEpsgCode(UNITY));
         assertEquals(OptionalInt.of(9202), getEpsgCode(PPM));
     }
+
+    /**
+     * Tests serialization and deserialization of units. Deserialized units shall be resolved
+     * to the unique instances, or at least be equal and compatible with the original units.
+     *
+     * @throws Exception if an error occurred during serialization or deserialization.
+     */
+    @Test
+    public void testSerialization() throws Exception {
+        assertSame(METRE,             UnitDimensionTest.serialize(METRE));
+        assertSame(METRES_PER_SECOND, UnitDimensionTest.serialize(METRES_PER_SECOND));
+        final Unit<?> km = (Unit<?>) UnitDimensionTest.serialize(KILOMETRE);
+        assertEquals(KILOMETRE, km);
+        assertTrue(km.isCompatible(METRE));
+        assertTrue(METRE.isCompatible(km));
+        assertSame(METRE.getDimension(), km.getDimension());
+    }
+
+    /**
+     * Tests {@link Units#valueOfEPSG(int[])} and {@link Units#getEpsgCodes(Unit[])}.
+     */
+    @Test
+    public void testBulkEPSG() {
+        final int[] codes = {9001, 9102, 1, 9110, 1040, 9122, 32767, -5};
+        final Unit<?>[] units = valueOfEPSG(codes);
+        assertArrayEquals(new Unit<?>[] {METRE, DEGREE, null, DMS, SECOND, DEGREE, null, null}, units);
+        assertArrayEquals(new int[] {9001, 9102, 0, 9110, 1040, 9102, 0, 0}, getEpsgCodes(units));
+    }
 }
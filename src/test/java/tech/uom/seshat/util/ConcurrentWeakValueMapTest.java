@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership. You may not use this
+ * file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.uom.seshat.util;
+
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static tech.uom.seshat.util.WeakValueHashMapTest.SAMPLE_SIZE;
+
+
+/**
+ * Tests the {@link ConcurrentWeakValueMap}.
+ * A standard {@link HashMap} object is used for comparison purpose.
+ *
+ * @author  Martin Desruisseaux (Geomatys)
+ * @version 1.4
+ */
+public final strictfp class ConcurrentWeakValueMapTest {
+    /**
+     * Tests the {@link ConcurrentWeakValueMap} using strong references.
+     * The tested map shall behave like a standard {@link HashMap}, except for element order.
+     */
+    @Test
+    public void testStrongReferences() {
+        final Map<Integer,IntObject> weakMap = new ConcurrentWeakValueMap<>();
+        final HashMap<Integer,IntObject> strongMap = new HashMap<>();
+        final Random random = new Random();
+        for (int i=0; i<SAMPLE_SIZE; i++) {
+            final Integer   key   = random.nextInt(SAMPLE_SIZE);
+            final IntObject value = new IntObject(random.nextInt(SAMPLE_SIZE));
+            assertEquals("containsKey:",   strongMap.containsKey(key),     weakMap.containsKey(key));
+            assertEquals("containsValue:", strongMap.containsValue(value), weakMap.containsValue(value));
+            assertSame  ("get:",           strongMap.get(key),             weakMap.get(key));
+            if (random.nextBoolean()) {
+                assertSame("put:", strongMap.put(key, value), weakMap.put(key, value));
+            } else {
+                assertSame("remove:", strongMap.remove(key), weakMap.remove(key));
+            }
+            assertEquals(strongMap, weakMap);
+        }
+    }
+
+    /**
+     * Tests {@code putIfAbsent(…)}, {@code replace(…)} and other optional methods.
+     */
+    @Test
+    public void testOptionalMethods() {
+        final ConcurrentWeakValueMap<Integer,Integer> weakMap = new ConcurrentWeakValueMap<>();
+        final HashMap<Integer,Integer> reference = new HashMap<>();
+        final Random random = new Random();
+        for (int i=0; i<100; i++) {
+            final Integer key   = random.nextInt(10);
+            final Integer value = random.nextInt(20);
+            switch (random.nextInt(7)) {
+                case 0: assertEquals(reference.get(key),                weakMap.get(key));                break;
+                case 1: assertEquals(reference.put(key, value),         weakMap.put(key, value));         break;
+                case 2: assertEquals(reference.putIfAbsent(key, value), weakMap.putIfAbsent(key, value)); break;
+                case 3: assertEquals(reference.replace(key, value),     weakMap.replace(key, value));     break;
+                case 4: {
+                    final Integer condition = random.nextInt(20);
+                    assertEquals(reference.replace(key, condition, value), weakMap.replace(key, condition, value));
+                    break;
+                }
+                case 5: assertEquals(reference.remove(key),        weakMap.remove(key));        break;
+                case 6: assertEquals(reference.remove(key, value), weakMap.remove(key, value)); break;
+            }
+        }
+        assertEquals(reference, weakMap);
+    }
+
+    /**
+     * Tests {@code putIfAbsent(…)} from many threads in parallel.
+     * All threads shall see the same value for the same key.
+     */
+    @Test
+    public void testConcurrentPutIfAbsent() {
+        final ConcurrentWeakValueMap<Integer,IntObject> weakMap = new ConcurrentWeakValueMap<>();
+        final IntObject[] values = IntStream.range(0, SAMPLE_SIZE).parallel().mapToObj((i) -> {
+            final Integer key = i % 10;
+            final IntObject value = new IntObject(i);
+            final IntObject existing = weakMap.putIfAbsent(key, value);
+            return (existing != null) ? existing : value;
+        }).toArray(IntObject[]::new);
+        for (int i=0; i<values.length; i++) {
+            assertSame(weakMap.get(i % 10), values[i]);
+        }
+    }
+}